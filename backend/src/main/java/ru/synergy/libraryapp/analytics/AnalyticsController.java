@@ -0,0 +1,36 @@
+package ru.synergy.libraryapp.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/revenue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RevenueRowDto>> revenue(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(analyticsService.revenue(start, end));
+    }
+
+    @GetMapping("/utilization")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BookUtilizationDto>> utilization(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(analyticsService.utilization(Math.min(Math.max(limit, 1), 100)));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.synergy.libraryapp.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.synergy.libraryapp.order.OrderType;
+
+import java.sql.Date;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class AnalyticsRollupService {
+    private static final String REVENUE_SQL = """
+            INSERT INTO revenue_daily (day, order_type, category, shard, orders_count, revenue)
+            VALUES (?, ?, lower(btrim(?)), ?, 1, ?)
+            ON CONFLICT (day, order_type, category, shard) DO UPDATE SET
+                orders_count = revenue_daily.orders_count + 1,
+                revenue = revenue_daily.revenue + EXCLUDED.revenue
+            """;
+    private static final String UTILIZATION_SQL = """
+            INSERT INTO book_utilization (book_id, shard, rentals_count, purchases_count, active_rentals, revenue, last_ordered_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (book_id, shard) DO UPDATE SET
+                rentals_count = book_utilization.rentals_count + EXCLUDED.rentals_count,
+                purchases_count = book_utilization.purchases_count + EXCLUDED.purchases_count,
+                active_rentals = book_utilization.active_rentals + EXCLUDED.active_rentals,
+                revenue = book_utilization.revenue + EXCLUDED.revenue,
+                last_ordered_at = GREATEST(book_utilization.last_ordered_at, EXCLUDED.last_ordered_at)
+            """;
+    private static final String RETURN_SQL = """
+            INSERT INTO book_utilization (book_id, shard, active_rentals)
+            VALUES (?, ?, -1)
+            ON CONFLICT (book_id, shard) DO UPDATE SET
+                active_rentals = book_utilization.active_rentals - 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int revenueShards;
+    private final int utilizationShards;
+
+    public AnalyticsRollupService(JdbcTemplate jdbcTemplate,
+                                  @Value("${library.analytics.revenue-shards}") int revenueShards,
+                                  @Value("${library.analytics.utilization-shards}") int utilizationShards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.revenueShards = revenueShards;
+        this.utilizationShards = utilizationShards;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrders(List<OrderFact> facts) {
+        if (facts.isEmpty()) {
+            return;
+        }
+        List<OrderFact> ordered = facts.stream()
+                .sorted(Comparator.comparing(OrderFact::bookId).thenComparingInt(fact -> utilizationShard(fact.orderId())))
+                .toList();
+        jdbcTemplate.batchUpdate(UTILIZATION_SQL, ordered, ordered.size(), (ps, fact) -> {
+            boolean rental = fact.type() != OrderType.PURCHASE;
+            ps.setObject(1, fact.bookId());
+            ps.setShort(2, (short) utilizationShard(fact.orderId()));
+            ps.setLong(3, rental ? 1 : 0);
+            ps.setLong(4, rental ? 0 : 1);
+            ps.setLong(5, rental ? 1 : 0);
+            ps.setBigDecimal(6, fact.price());
+            ps.setObject(7, fact.createdAt());
+        });
+        List<OrderFact> byGroup = facts.stream()
+                .sorted(Comparator.comparing((OrderFact fact) -> fact.createdAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate())
+                        .thenComparing(OrderFact::type)
+                        .thenComparing(OrderFact::category)
+                        .thenComparingInt(this::revenueShard))
+                .toList();
+        jdbcTemplate.batchUpdate(REVENUE_SQL, byGroup, byGroup.size(), (ps, fact) -> {
+            ps.setDate(1, Date.valueOf(fact.createdAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()));
+            ps.setString(2, fact.type().name());
+            ps.setString(3, fact.category());
+            ps.setShort(4, (short) revenueShard(fact));
+            ps.setBigDecimal(5, fact.price());
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReturn(UUID orderId, UUID bookId) {
+        jdbcTemplate.update(RETURN_SQL, bookId, (short) utilizationShard(orderId));
+    }
+
+    private int revenueShard(OrderFact fact) {
+        return Math.floorMod(fact.orderId().hashCode(), revenueShards);
+    }
+
+    private int utilizationShard(UUID orderId) {
+        return Math.floorMod(orderId.hashCode(), utilizationShards);
+    }
+}
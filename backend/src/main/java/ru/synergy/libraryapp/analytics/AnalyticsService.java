@@ -0,0 +1,78 @@
+package ru.synergy.libraryapp.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.synergy.libraryapp.order.OrderType;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final String UTILIZATION_SQL = """
+            SELECT u.book_id, b.title, u.rentals_count, u.purchases_count, u.active_rentals, u.revenue, u.last_ordered_at,
+                   (SELECT COUNT(*) FROM book_copies c
+                    WHERE c.book_id = u.book_id AND c.status IN ('AVAILABLE', 'ON_LOAN')) AS copies
+            FROM (SELECT book_id,
+                         SUM(rentals_count) AS rentals_count,
+                         SUM(purchases_count) AS purchases_count,
+                         GREATEST(SUM(active_rentals), 0) AS active_rentals,
+                         SUM(revenue) AS revenue,
+                         MAX(last_ordered_at) AS last_ordered_at
+                  FROM book_utilization
+                  GROUP BY book_id
+                  ORDER BY SUM(rentals_count) DESC, book_id
+                  LIMIT ?) u
+            JOIN books b ON b.id = u.book_id
+            ORDER BY u.rentals_count DESC, u.book_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<RevenueRowDto> revenue(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return jdbcTemplate.query("""
+                        SELECT day, order_type, category, SUM(orders_count) AS orders_count, SUM(revenue) AS revenue
+                        FROM revenue_daily
+                        WHERE day BETWEEN ? AND ?
+                        GROUP BY day, order_type, category
+                        ORDER BY day, order_type, category
+                        """,
+                (rs, rowNum) -> new RevenueRowDto(
+                        rs.getDate("day").toLocalDate(),
+                        OrderType.valueOf(rs.getString("order_type")),
+                        rs.getString("category"),
+                        rs.getLong("orders_count"),
+                        rs.getBigDecimal("revenue")),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookUtilizationDto> utilization(int limit) {
+        return jdbcTemplate.query(UTILIZATION_SQL,
+                (rs, rowNum) -> new BookUtilizationDto(
+                        rs.getObject("book_id", UUID.class),
+                        rs.getString("title"),
+                        rs.getLong("rentals_count"),
+                        rs.getLong("purchases_count"),
+                        rs.getLong("active_rentals"),
+                        rs.getLong("copies"),
+                        rs.getBigDecimal("revenue"),
+                        rs.getObject("last_ordered_at", OffsetDateTime.class)),
+                limit);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.synergy.libraryapp.analytics;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record BookUtilizationDto(
+        UUID bookId,
+        String title,
+        long rentals,
+        long purchases,
+        long activeRentals,
+        long copies,
+        BigDecimal revenue,
+        OffsetDateTime lastOrderedAt
+) {
+}
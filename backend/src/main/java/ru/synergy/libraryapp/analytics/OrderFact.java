@@ -0,0 +1,17 @@
+package ru.synergy.libraryapp.analytics;
+
+import ru.synergy.libraryapp.order.OrderType;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OrderFact(
+        UUID orderId,
+        UUID bookId,
+        String category,
+        OrderType type,
+        BigDecimal price,
+        OffsetDateTime createdAt
+) {
+}
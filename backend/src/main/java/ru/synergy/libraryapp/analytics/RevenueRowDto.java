@@ -0,0 +1,15 @@
+package ru.synergy.libraryapp.analytics;
+
+import ru.synergy.libraryapp.order.OrderType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RevenueRowDto(
+        LocalDate day,
+        OrderType type,
+        String category,
+        long orders,
+        BigDecimal revenue
+) {
+}
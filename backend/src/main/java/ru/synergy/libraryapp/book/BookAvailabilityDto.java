@@ -0,0 +1,9 @@
+package ru.synergy.libraryapp.book;
+
+import java.util.UUID;
+
+public record BookAvailabilityDto(
+        UUID bookId,
+        long availableCopies
+) {
+}
@@ -0,0 +1,12 @@
+package ru.synergy.libraryapp.book;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookCatalogRepository {
+    List<BookListItemDto> findListItems(Specification<BookEntity> spec, Sort sort, String rankBy, long offset, int limit);
+
+    List<BookFacetRow> countFacets(BookFilter filter);
+}
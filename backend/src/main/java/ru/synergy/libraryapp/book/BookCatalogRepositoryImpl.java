@@ -0,0 +1,113 @@
+package ru.synergy.libraryapp.book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookCatalogRepositoryImpl implements BookCatalogRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookListItemDto> findListItems(Specification<BookEntity> spec, Sort sort, String rankBy, long offset, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookListItemDto> query = cb.createQuery(BookListItemDto.class);
+        Root<BookEntity> root = query.from(BookEntity.class);
+        query.select(cb.construct(BookListItemDto.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("author"),
+                root.get("category"),
+                root.get("year"),
+                root.get("pricing").get("purchasePrice"),
+                root.get("status"),
+                root.get("coverUrl")));
+        applySpecification(spec, root, query, cb);
+        if (rankBy != null) {
+            query.orderBy(
+                    cb.desc(cb.function("fts_rank", Double.class, root.get("searchVector"), cb.value(rankBy))),
+                    cb.asc(root.get("title")),
+                    cb.asc(root.get("id")));
+        } else if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BookFacetRow> countFacets(BookFilter filter) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT CASE WHEN GROUPING(lower(b.category)) = 0 THEN lower(b.category) END,
+                       CASE WHEN GROUPING(lower(b.author)) = 0 THEN lower(b.author) END,
+                       CASE WHEN GROUPING(b.year) = 0 THEN b.year END,
+                       b.status,
+                       COUNT(*)
+                FROM books b
+                WHERE TRUE
+                """);
+        Map<String, Object> parameters = new HashMap<>();
+        if (!filter.includeInactive()) {
+            sql.append(" AND b.status = 'AVAILABLE'");
+        } else if (filter.status() != null) {
+            sql.append(" AND b.status = :status");
+            parameters.put("status", filter.status().name());
+        }
+        if (filter.category() != null) {
+            sql.append(" AND lower(b.category) = :category");
+            parameters.put("category", filter.category().trim().toLowerCase());
+        }
+        if (filter.author() != null) {
+            sql.append(" AND lower(b.author) = :author");
+            parameters.put("author", filter.author().trim().toLowerCase());
+        }
+        if (filter.year() != null) {
+            sql.append(" AND b.year = :year");
+            parameters.put("year", filter.year());
+        }
+        if (filter.query() != null && !filter.query().isBlank()) {
+            sql.append(" AND b.search_vector @@ websearch_to_tsquery('russian', :query)");
+            parameters.put("query", filter.query().trim());
+        }
+        sql.append(" GROUP BY GROUPING SETS ((lower(b.category), b.status), (lower(b.author), b.status), (b.year, b.status))");
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new BookFacetRow(
+                        (String) row[0],
+                        (String) row[1],
+                        row[2] != null ? ((Number) row[2]).intValue() : null,
+                        BookStatus.valueOf((String) row[3]),
+                        ((Number) row[4]).longValue()))
+                .toList();
+    }
+
+    private void applySpecification(Specification<BookEntity> spec,
+                                    Root<BookEntity> root,
+                                    CriteriaQuery<?> query,
+                                    CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package ru.synergy.libraryapp.book;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,9 +17,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.synergy.libraryapp.security.AppUserDetails;
 import ru.synergy.libraryapp.user.UserRole;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,33 +30,86 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final CatalogCache catalogCache;
+    private final BookInventoryService inventoryService;
 
     @GetMapping
-    public ResponseEntity<BookPageDto> catalog(@RequestParam(required = false) String category,
-                                               @RequestParam(required = false) String author,
-                                               @RequestParam(required = false) Integer year,
-                                               @RequestParam(required = false) String sort,
-                                               @RequestParam(required = false) String status,
-                                               @RequestParam(defaultValue = "0") int page,
-                                               @RequestParam(defaultValue = "20") int size,
-                                               @AuthenticationPrincipal AppUserDetails principal) {
-        boolean includeInactive = principal != null && principal.getUser().getRole() == UserRole.ADMIN;
-        BookStatus statusFilter = null;
-        if (includeInactive && status != null && !status.isBlank() && !status.equalsIgnoreCase("ALL")) {
-            try {
-                statusFilter = BookStatus.valueOf(status.trim().toUpperCase());
-            } catch (IllegalArgumentException ignored) {
-                statusFilter = null;
-            }
+    public ResponseEntity<byte[]> catalog(@RequestParam(required = false) String category,
+                                          @RequestParam(required = false) String author,
+                                          @RequestParam(required = false) Integer year,
+                                          @RequestParam(required = false) String q,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(required = false) String status,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @AuthenticationPrincipal AppUserDetails principal,
+                                          WebRequest webRequest) {
+        BookFilter filter = buildFilter(category, author, year, q, sort, status, principal);
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        CatalogCache.PageKey key = new CatalogCache.PageKey(filter, pageNumber, pageSize);
+        CatalogCache.CachedResponse response = catalogCache.page(key, () -> bookService.findBooks(filter, pageNumber, pageSize));
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
         }
-        BookFilter filter = new BookFilter(category, author, year, sort, statusFilter, includeInactive);
-        BookPageDto result = bookService.findBooks(filter, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
-        return ResponseEntity.ok(result);
+        return toResponse(response);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<byte[]> scroll(@RequestParam(required = false) String category,
+                                         @RequestParam(required = false) String author,
+                                         @RequestParam(required = false) Integer year,
+                                         @RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(defaultValue = "20") int size,
+                                         @AuthenticationPrincipal AppUserDetails principal,
+                                         WebRequest webRequest) {
+        BookFilter filter = buildFilter(category, author, year, q, sort, status, principal);
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        CatalogCache.ScrollKey key = new CatalogCache.ScrollKey(filter, after, pageSize);
+        CatalogCache.CachedResponse response = catalogCache.page(key, () -> bookService.scrollBooks(filter, after, pageSize));
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+        return toResponse(response);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<byte[]> facets(@RequestParam(required = false) String category,
+                                         @RequestParam(required = false) String author,
+                                         @RequestParam(required = false) Integer year,
+                                         @RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String status,
+                                         @AuthenticationPrincipal AppUserDetails principal,
+                                         WebRequest webRequest) {
+        BookFilter filter = buildFilter(category, author, year, q, null, status, principal);
+        CatalogCache.FacetsKey key = new CatalogCache.FacetsKey(filter);
+        CatalogCache.CachedResponse response = catalogCache.page(key, () -> bookService.facets(filter));
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+        return toResponse(response);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<BookAvailabilityDto>> availability(@RequestParam List<UUID> ids) {
+        if (ids.size() > 100) {
+            throw new IllegalArgumentException("Не более 100 книг за запрос");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(inventoryService.availability(new LinkedHashSet<>(ids)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookDetailsDto> byId(@PathVariable UUID id) {
-        return ResponseEntity.ok(bookService.getBook(id));
+    public ResponseEntity<byte[]> byId(@PathVariable UUID id, WebRequest webRequest) {
+        CatalogCache.CachedResponse cached = catalogCache.cachedDetails(id);
+        if (cached != null && webRequest.checkNotModified(cached.etag())) {
+            return null;
+        }
+        return toResponse(catalogCache.details(id, () -> bookService.getBook(id)));
     }
 
     @PostMapping
@@ -76,4 +134,30 @@ public class BookController {
         BookDetailsDto dto = bookService.changeStatus(id, request.status());
         return ResponseEntity.ok(dto);
     }
+
+    private ResponseEntity<byte[]> toResponse(CatalogCache.CachedResponse response) {
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+
+    private BookFilter buildFilter(String category,
+                                   String author,
+                                   Integer year,
+                                   String q,
+                                   String sort,
+                                   String status,
+                                   AppUserDetails principal) {
+        boolean includeInactive = principal != null && principal.getUser().getRole() == UserRole.ADMIN;
+        BookStatus statusFilter = null;
+        if (includeInactive && status != null && !status.isBlank() && !status.equalsIgnoreCase("ALL")) {
+            try {
+                statusFilter = BookStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException ignored) {
+                statusFilter = null;
+            }
+        }
+        return new BookFilter(category, author, year, q, sort, statusFilter, includeInactive).normalized();
+    }
 }
\ No newline at end of file
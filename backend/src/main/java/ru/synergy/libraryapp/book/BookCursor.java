@@ -0,0 +1,22 @@
+package ru.synergy.libraryapp.book;
+
+import java.util.UUID;
+
+public record BookCursor(
+        String sort,
+        String title,
+        String author,
+        Integer year,
+        UUID id
+) {
+    public boolean supports(String sortKey) {
+        if (!sortKey.equals(sort) || title == null || id == null) {
+            return false;
+        }
+        return switch (sortKey) {
+            case "author" -> author != null;
+            case "year" -> year != null;
+            default -> true;
+        };
+    }
+}
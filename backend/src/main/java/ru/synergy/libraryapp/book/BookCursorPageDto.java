@@ -0,0 +1,11 @@
+package ru.synergy.libraryapp.book;
+
+import java.util.List;
+
+public record BookCursorPageDto(
+        List<BookListItemDto> items,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -47,6 +47,9 @@ public class BookEntity {
     @Embedded
     private BookPricing pricing;
 
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private BookStatus status = BookStatus.AVAILABLE;
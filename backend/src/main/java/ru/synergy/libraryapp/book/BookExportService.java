@@ -0,0 +1,105 @@
+package ru.synergy.libraryapp.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.synergy.libraryapp.common.CsvWriter;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class BookExportService {
+    private static final String EXPORT_SQL = """
+            SELECT id, title, author, category, year, description, cover_url,
+                   purchase_price, rent_two_weeks_price, rent_one_month_price, rent_three_months_price,
+                   status, created_at, updated_at
+            FROM books
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public BookExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${library.catalog.export.fetch-size}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(BookExportFormat format, OutputStream output) throws IOException {
+        long startedAt = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        CsvWriter csv = new CsvWriter(writer);
+        if (format == BookExportFormat.CSV) {
+            csv.writeRow("id", "title", "author", "category", "year", "description", "coverUrl",
+                    "purchasePrice", "rentTwoWeeks", "rentOneMonth", "rentThreeMonths",
+                    "status", "createdAt", "updatedAt");
+        }
+        long[] rows = new long[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, rs -> {
+                BookDetailsDto book = mapRow(rs);
+                try {
+                    if (format == BookExportFormat.CSV) {
+                        csv.writeRow(book.id(), book.title(), book.author(), book.category(), book.year(),
+                                book.description(), book.coverUrl(), book.purchasePrice(), book.rentTwoWeeks(),
+                                book.rentOneMonth(), book.rentThreeMonths(), book.status(), book.createdAt(),
+                                book.updatedAt());
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(book));
+                        writer.write('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        log.info("Book export finished. format={}, rows={}, durationMs={}",
+                format, rows[0], (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private BookDetailsDto mapRow(ResultSet rs) throws SQLException {
+        return new BookDetailsDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                rs.getString("author"),
+                rs.getString("category"),
+                rs.getInt("year"),
+                rs.getString("description"),
+                rs.getString("cover_url"),
+                rs.getBigDecimal("purchase_price"),
+                rs.getBigDecimal("rent_two_weeks_price"),
+                rs.getBigDecimal("rent_one_month_price"),
+                rs.getBigDecimal("rent_three_months_price"),
+                BookStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class)
+        );
+    }
+}
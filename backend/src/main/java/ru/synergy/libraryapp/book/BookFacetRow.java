@@ -0,0 +1,10 @@
+package ru.synergy.libraryapp.book;
+
+public record BookFacetRow(
+        String category,
+        String author,
+        Integer year,
+        BookStatus status,
+        long count
+) {
+}
@@ -0,0 +1,11 @@
+package ru.synergy.libraryapp.book;
+
+import java.util.Map;
+
+public record BookFacetsDto(
+        Map<String, Long> categories,
+        Map<String, Long> authors,
+        Map<Integer, Long> years,
+        Map<BookStatus, Long> statuses
+) {
+}
@@ -4,11 +4,32 @@ public record BookFilter(
         String category,
         String author,
         Integer year,
+        String query,
         String sort,
         BookStatus status,
         boolean includeInactive
 ) {
     public String normalizedSort() {
-        return sort == null ? "title" : sort;
+        boolean hasQuery = query != null && !query.isBlank();
+        if (sort == null) {
+            return hasQuery ? "relevance" : "title";
+        }
+        return switch (sort) {
+            case "author", "year" -> sort;
+            case "relevance" -> hasQuery ? sort : "title";
+            default -> "title";
+        };
+    }
+
+    public BookFilter normalized() {
+        String normalizedQuery = query == null || query.isBlank() ? null : query.trim();
+        return new BookFilter(normalize(category), normalize(author), year, normalizedQuery, normalizedSort(), status, includeInactive);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase();
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.book;
+
+public record BookImportError(
+        long row,
+        String message
+) {
+}
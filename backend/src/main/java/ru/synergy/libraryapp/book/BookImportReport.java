@@ -0,0 +1,13 @@
+package ru.synergy.libraryapp.book;
+
+import java.util.List;
+
+public record BookImportReport(
+        long processed,
+        long imported,
+        long failed,
+        List<BookImportError> errors,
+        long durationMs,
+        double rowsPerSecond
+) {
+}
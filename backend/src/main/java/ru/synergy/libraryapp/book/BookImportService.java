@@ -0,0 +1,304 @@
+package ru.synergy.libraryapp.book;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.synergy.libraryapp.common.CsvReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BookImportService {
+    private static final String UPSERT_SQL = """
+            INSERT INTO books (title, author, category, year, description, cover_url,
+                               purchase_price, rent_two_weeks_price, rent_one_month_price, rent_three_months_price,
+                               status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'AVAILABLE', NOW(), NOW())
+            ON CONFLICT ON CONSTRAINT uq_books_title_author DO UPDATE SET
+                category = EXCLUDED.category,
+                year = EXCLUDED.year,
+                description = EXCLUDED.description,
+                cover_url = EXCLUDED.cover_url,
+                purchase_price = EXCLUDED.purchase_price,
+                rent_two_weeks_price = EXCLUDED.rent_two_weeks_price,
+                rent_one_month_price = EXCLUDED.rent_one_month_price,
+                rent_three_months_price = EXCLUDED.rent_three_months_price,
+                updated_at = NOW()
+            """;
+    private static final String STOCK_SQL = """
+            INSERT INTO book_copies (book_id, status, created_at)
+            SELECT b.id, 'AVAILABLE', NOW()
+            FROM books b
+            CROSS JOIN generate_series(1, GREATEST(? - (
+                SELECT COUNT(*) FROM book_copies c
+                WHERE c.book_id = b.id AND (? OR c.status IN ('AVAILABLE', 'ON_LOAN'))
+            ), 0))
+            WHERE b.title = ? AND b.author = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CatalogCache catalogCache;
+    private final CatalogFacets catalogFacets;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public BookImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             CatalogCache catalogCache,
+                             CatalogFacets catalogFacets,
+                             @Value("${library.catalog.import.chunk-size}") int chunkSize,
+                             @Value("${library.catalog.import.max-reported-errors}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.catalogCache = catalogCache;
+        this.catalogFacets = catalogFacets;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public BookImportReport importCsv(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            return run.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        long rowNumber = 0;
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            rowNumber++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(rowNumber, fromCsv(columns, fields));
+            } catch (IllegalArgumentException ex) {
+                run.reject(rowNumber, ex.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    public BookImportReport importNdjson(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(rowNumber, objectMapper.readValue(line, BookRequest.class));
+            } catch (JsonProcessingException ex) {
+                run.reject(rowNumber, "Некорректный JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private BookRequest fromCsv(Map<String, Integer> columns, List<String> fields) {
+        return new BookRequest(
+                text(columns, fields, "title"),
+                text(columns, fields, "author"),
+                text(columns, fields, "category"),
+                parse(columns, fields, "year", Integer::valueOf),
+                text(columns, fields, "description"),
+                text(columns, fields, "coverUrl"),
+                parse(columns, fields, "purchasePrice", BigDecimal::new),
+                parse(columns, fields, "rentTwoWeeks", BigDecimal::new),
+                parse(columns, fields, "rentOneMonth", BigDecimal::new),
+                parse(columns, fields, "rentThreeMonths", BigDecimal::new),
+                parse(columns, fields, "copies", Integer::valueOf)
+        );
+    }
+
+    private String text(Map<String, Integer> columns, List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isBlank() ? null : value;
+    }
+
+    private <T> T parse(Map<String, Integer> columns, List<String> fields, String column, Function<String, T> parser) {
+        String value = text(columns, fields, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + ": некорректное значение '" + value + "'");
+        }
+    }
+
+    private String validate(BookRequest request) {
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeChunk(List<BookRequest> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), this::bindRow);
+            jdbcTemplate.batchUpdate(STOCK_SQL, rows, rows.size(), this::bindStock);
+        });
+    }
+
+    private void bindStock(PreparedStatement ps, BookRequest row) throws SQLException {
+        ps.setInt(1, row.copies() != null ? row.copies() : 1);
+        ps.setBoolean(2, row.copies() == null);
+        ps.setString(3, row.title().trim());
+        ps.setString(4, row.author().trim());
+    }
+
+    private void bindRow(PreparedStatement ps, BookRequest row) throws SQLException {
+        ps.setString(1, row.title().trim());
+        ps.setString(2, row.author().trim());
+        ps.setString(3, row.category().trim());
+        ps.setInt(4, row.year());
+        setText(ps, 5, row.description());
+        setText(ps, 6, row.coverUrl());
+        ps.setBigDecimal(7, normalizePrice(row.purchasePrice()));
+        ps.setBigDecimal(8, normalizePrice(row.rentTwoWeeks()));
+        ps.setBigDecimal(9, normalizePrice(row.rentOneMonth()));
+        ps.setBigDecimal(10, normalizePrice(row.rentThreeMonths()));
+    }
+
+    private void setText(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value.trim());
+        }
+    }
+
+    private BigDecimal normalizePrice(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+
+    private final class ImportRun {
+        private final long startedAt = System.nanoTime();
+        private final Map<String, PendingRow> chunk = new LinkedHashMap<>();
+        private final List<BookImportError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        void accept(long rowNumber, BookRequest request) {
+            processed++;
+            String problem = validate(request);
+            if (problem != null) {
+                recordError(rowNumber, problem);
+                return;
+            }
+            String key = request.title().trim() + '\u0000' + request.author().trim();
+            if (chunk.containsKey(key)) {
+                flush();
+            }
+            chunk.put(key, new PendingRow(rowNumber, request));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String message) {
+            processed++;
+            recordError(rowNumber, message);
+        }
+
+        BookImportReport finish() {
+            flush();
+            if (imported > 0) {
+                catalogCache.invalidateAll();
+                catalogFacets.rebuild();
+            }
+            long durationMs = Math.max((System.nanoTime() - startedAt) / 1_000_000, 1);
+            double rowsPerSecond = processed * 1000.0 / durationMs;
+            log.info("Book import finished. processed={}, imported={}, failed={}, durationMs={}, rowsPerSecond={}",
+                    processed, imported, failed, durationMs, String.format("%.1f", rowsPerSecond));
+            return new BookImportReport(processed, imported, failed, errors, durationMs, rowsPerSecond);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> pending = new ArrayList<>(chunk.values());
+            chunk.clear();
+            write(pending);
+        }
+
+        private void write(List<PendingRow> rows) {
+            try {
+                writeChunk(rows.stream().map(PendingRow::request).toList());
+                imported += rows.size();
+            } catch (DataAccessException ex) {
+                if (rows.size() == 1) {
+                    log.debug("Book import row failed. row={}", rows.get(0).rowNumber(), ex);
+                    recordError(rows.get(0).rowNumber(), "Ошибка записи: " + ex.getMostSpecificCause().getMessage());
+                    return;
+                }
+                log.debug("Book import chunk failed, splitting. firstRow={}, size={}", rows.get(0).rowNumber(), rows.size());
+                int middle = rows.size() / 2;
+                write(rows.subList(0, middle));
+                write(rows.subList(middle, rows.size()));
+            }
+        }
+
+        private void recordError(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportError(rowNumber, message));
+            }
+        }
+    }
+
+    private record PendingRow(long rowNumber, BookRequest request) {
+    }
+}
@@ -0,0 +1,100 @@
+package ru.synergy.libraryapp.book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookInventoryService {
+    private static final String ALLOCATE_SQL = """
+            UPDATE book_copies SET status = ?, updated_at = NOW()
+            WHERE id = (
+                SELECT id FROM book_copies
+                WHERE book_id = ? AND status = 'AVAILABLE'
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id
+            """;
+    private static final String RELEASE_SQL = """
+            UPDATE book_copies SET status = 'AVAILABLE', updated_at = NOW()
+            WHERE id = ? AND status = 'ON_LOAN'
+            RETURNING book_id
+            """;
+    private static final String ADD_COPIES_SQL = """
+            INSERT INTO book_copies (book_id, status, created_at)
+            SELECT ?, 'AVAILABLE', NOW() FROM generate_series(1, ?)
+            """;
+    private static final String WITHDRAW_COPIES_SQL = """
+            UPDATE book_copies SET status = 'WITHDRAWN', updated_at = NOW()
+            WHERE id IN (
+                SELECT id FROM book_copies
+                WHERE book_id = ? AND status = 'AVAILABLE'
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+    private static final String LOCK_BOOK_SQL = "SELECT id FROM books WHERE id = ? FOR NO KEY UPDATE";
+    private static final String IN_STOCK_SQL =
+            "SELECT COUNT(*) FROM book_copies WHERE book_id = ? AND status IN ('AVAILABLE', 'ON_LOAN')";
+    private static final String AVAILABILITY_SQL = """
+            SELECT b.id, COUNT(c.id)
+            FROM (SELECT DISTINCT unnest(?) AS id) b
+            LEFT JOIN book_copies c ON c.book_id = b.id AND c.status = 'AVAILABLE'
+            GROUP BY b.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<BookAvailabilityDto> availability(Collection<UUID> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = bookIds.toArray(UUID[]::new);
+        return jdbcTemplate.query(AVAILABILITY_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                (rs, rowNum) -> new BookAvailabilityDto(rs.getObject(1, UUID.class), rs.getLong(2)));
+    }
+
+    @Transactional
+    public Optional<UUID> allocate(UUID bookId, CopyStatus target) {
+        List<UUID> allocated = jdbcTemplate.queryForList(ALLOCATE_SQL, UUID.class, target.name(), bookId);
+        if (allocated.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(allocated.get(0));
+    }
+
+    @Transactional
+    public void release(UUID copyId) {
+        List<UUID> released = jdbcTemplate.queryForList(RELEASE_SQL, UUID.class, copyId);
+        if (released.isEmpty()) {
+            log.warn("Copy was not on loan, nothing to release. copyId={}", copyId);
+        }
+    }
+
+    @Transactional
+    public void restock(UUID bookId, int copies) {
+        jdbcTemplate.queryForList(LOCK_BOOK_SQL, UUID.class, bookId);
+        Integer inStock = jdbcTemplate.queryForObject(IN_STOCK_SQL, Integer.class, bookId);
+        int delta = copies - (inStock == null ? 0 : inStock);
+        if (delta > 0) {
+            jdbcTemplate.update(ADD_COPIES_SQL, bookId, delta);
+        } else if (delta < 0) {
+            int withdrawn = jdbcTemplate.update(WITHDRAW_COPIES_SQL, bookId, -delta);
+            if (withdrawn < -delta) {
+                log.info("Not enough free copies to withdraw. bookId={}, requested={}, withdrawn={}", bookId, -delta, withdrawn);
+            }
+        }
+    }
+}
@@ -30,6 +30,8 @@ public record BookRequest(
         @NotNull @DecimalMin(value = "0.0", inclusive = false)
         BigDecimal rentOneMonth,
         @NotNull @DecimalMin(value = "0.0", inclusive = false)
-        BigDecimal rentThreeMonths
+        BigDecimal rentThreeMonths,
+        @Min(0)
+        Integer copies
 ) {
 }
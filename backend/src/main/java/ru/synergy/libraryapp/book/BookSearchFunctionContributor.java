@@ -0,0 +1,21 @@
+package ru.synergy.libraryapp.book;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+public class BookSearchFunctionContributor implements FunctionContributor {
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        registry.registerPattern("fts_match",
+                "(?1 @@ websearch_to_tsquery('russian', ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern("fts_rank",
+                "ts_rank_cd(?1, websearch_to_tsquery('russian', ?2))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -1,30 +1,45 @@
 package ru.synergy.libraryapp.book;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.synergy.libraryapp.common.CursorCodec;
 import ru.synergy.libraryapp.common.ResourceNotFoundException;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
     private final BookRepository bookRepository;
+    private final CatalogCache catalogCache;
+    private final CursorCodec cursorCodec;
+    private final CatalogFacets catalogFacets;
+    private final BookInventoryService inventoryService;
 
     @Transactional(readOnly = true)
     public BookPageDto findBooks(BookFilter filter, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, buildSort(filter.normalizedSort()));
         Specification<BookEntity> spec = buildSpecification(filter);
-        Page<BookListItemDto> result = bookRepository.findAll(spec, pageable)
-                .map(this::toListItemDto);
+        String rankBy = filter.normalizedSort().equals("relevance") ? filter.query() : null;
+        List<BookListItemDto> content = bookRepository.findListItems(spec, pageable.getSort(), rankBy, pageable.getOffset(), size);
+        Page<BookListItemDto> result = PageableExecutionUtils.getPage(content, pageable, () -> bookRepository.count(spec));
         return new BookPageDto(
                 result.getContent(),
                 result.getNumber(),
@@ -35,6 +50,65 @@ public class BookService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public BookCursorPageDto scrollBooks(BookFilter filter, String after, int size) {
+        String sortKey = filter.normalizedSort();
+        if (sortKey.equals("relevance")) {
+            throw new IllegalArgumentException("Сортировка по релевантности недоступна для курсорной пагинации");
+        }
+        Specification<BookEntity> spec = buildSpecification(filter);
+        if (after != null && !after.isBlank()) {
+            BookCursor cursor = cursorCodec.decode(after, BookCursor.class);
+            if (!cursor.supports(sortKey)) {
+                throw new IllegalArgumentException("Курсор не соответствует сортировке");
+            }
+            spec = spec.and(after(cursor));
+        }
+        List<BookListItemDto> rows = bookRepository.findListItems(spec, buildSort(sortKey), null, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<BookListItemDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            BookListItemDto last = content.get(content.size() - 1);
+            nextCursor = cursorCodec.encode(new BookCursor(sortKey, last.title(), last.author(), last.year(), last.id()));
+        }
+        return new BookCursorPageDto(
+                content,
+                size,
+                nextCursor,
+                hasNext
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public BookFacetsDto facets(BookFilter filter) {
+        boolean unfiltered = filter.category() == null && filter.author() == null && filter.year() == null
+                && filter.query() == null && filter.status() == null;
+        if (unfiltered) {
+            Optional<BookFacetsDto> cached = catalogFacets.unfiltered(filter.includeInactive());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        Map<String, Long> categories = new TreeMap<>();
+        Map<String, Long> authors = new TreeMap<>();
+        Map<Integer, Long> years = new TreeMap<>();
+        Map<BookStatus, Long> statuses = new EnumMap<>(BookStatus.class);
+        for (BookFacetRow row : bookRepository.countFacets(filter)) {
+            if (row.category() != null) {
+                categories.merge(row.category(), row.count(), Long::sum);
+                statuses.merge(row.status(), row.count(), Long::sum);
+            }
+            if (row.author() != null) {
+                authors.merge(row.author(), row.count(), Long::sum);
+            }
+            if (row.year() != null) {
+                years.merge(row.year(), row.count(), Long::sum);
+            }
+        }
+        return new BookFacetsDto(categories, authors, years, filter.includeInactive() ? statuses : null);
+    }
+
     @Transactional(readOnly = true)
     public BookDetailsDto getBook(UUID id) {
         return bookRepository.findById(id)
@@ -47,7 +121,9 @@ public class BookService {
         BookEntity entity = new BookEntity();
         applyRequest(entity, request);
         entity.setStatus(BookStatus.AVAILABLE);
-        BookEntity saved = bookRepository.save(entity);
+        BookEntity saved = bookRepository.saveAndFlush(entity);
+        inventoryService.restock(saved.getId(), request.copies() != null ? request.copies() : 1);
+        catalogCache.invalidateBook(saved.getId());
         return toDetailsDto(saved);
     }
 
@@ -57,6 +133,10 @@ public class BookService {
                 .orElseThrow(() -> new ResourceNotFoundException("Книга не найдена"));
         applyRequest(entity, request);
         BookEntity saved = bookRepository.save(entity);
+        if (request.copies() != null) {
+            inventoryService.restock(id, request.copies());
+        }
+        catalogCache.invalidateBook(id);
         return toDetailsDto(saved);
     }
 
@@ -65,6 +145,7 @@ public class BookService {
         BookEntity entity = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Книга не найдена"));
         entity.setStatus(status);
+        catalogCache.invalidateBook(id);
         return toDetailsDto(entity);
     }
 
@@ -80,10 +161,19 @@ public class BookService {
         spec = spec
                 .and(optionalEquals("category", filter.category()))
                 .and(optionalEquals("author", filter.author()))
-                .and(optionalEquals("year", filter.year()));
+                .and(optionalEquals("year", filter.year()))
+                .and(matchesQuery(filter.query()));
         return spec;
     }
 
+    private Specification<BookEntity> matchesQuery(String searchQuery) {
+        if (searchQuery == null || searchQuery.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.isTrue(cb.function("fts_match", Boolean.class,
+                root.get("searchVector"), ((HibernateCriteriaBuilder) cb).value(searchQuery)));
+    }
+
     private Specification<BookEntity> statusIs(BookStatus status) {
         return (root, query, cb) -> cb.equal(root.get("status"), status);
     }
@@ -102,11 +192,35 @@ public class BookService {
         return (root, query, cb) -> cb.equal(root.get(field), value);
     }
 
+    private Specification<BookEntity> after(BookCursor cursor) {
+        return (root, query, cb) -> switch (cursor.sort()) {
+            case "author" -> cb.or(
+                    cb.greaterThan(root.<String>get("author"), cursor.author()),
+                    cb.and(cb.equal(root.get("author"), cursor.author()), afterTitleAndId(root, cb, cursor, false)));
+            case "year" -> cb.or(
+                    cb.lessThan(root.<Integer>get("year"), cursor.year()),
+                    cb.and(cb.equal(root.get("year"), cursor.year()), afterTitleAndId(root, cb, cursor, true)));
+            default -> afterTitleAndId(root, cb, cursor, false);
+        };
+    }
+
+    private Predicate afterTitleAndId(Root<BookEntity> root, CriteriaBuilder cb, BookCursor cursor, boolean descending) {
+        if (descending) {
+            return cb.or(
+                    cb.lessThan(root.<String>get("title"), cursor.title()),
+                    cb.and(cb.equal(root.get("title"), cursor.title()), cb.lessThan(root.<UUID>get("id"), cursor.id())));
+        }
+        return cb.or(
+                cb.greaterThan(root.<String>get("title"), cursor.title()),
+                cb.and(cb.equal(root.get("title"), cursor.title()), cb.greaterThan(root.<UUID>get("id"), cursor.id())));
+    }
+
     private Sort buildSort(String sortKey) {
         return switch (sortKey) {
-            case "author" -> Sort.by(Sort.Direction.ASC, "author", "title");
-            case "year" -> Sort.by(Sort.Direction.DESC, "year", "title");
-            default -> Sort.by(Sort.Direction.ASC, "title");
+            case "author" -> Sort.by(Sort.Direction.ASC, "author", "title", "id");
+            case "year" -> Sort.by(Sort.Direction.DESC, "year", "title", "id");
+            case "relevance" -> Sort.unsorted();
+            default -> Sort.by(Sort.Direction.ASC, "title", "id");
         };
     }
 
@@ -130,21 +244,6 @@ public class BookService {
         return price == null ? null : price.stripTrailingZeros();
     }
 
-    private BookListItemDto toListItemDto(BookEntity entity) {
-        BookPricing pricing = entity.getPricing();
-        BigDecimal purchasePrice = pricing != null ? pricing.getPurchasePrice() : null;
-        return new BookListItemDto(
-                entity.getId(),
-                entity.getTitle(),
-                entity.getAuthor(),
-                entity.getCategory(),
-                entity.getYear(),
-                purchasePrice,
-                entity.getStatus(),
-                entity.getCoverUrl()
-        );
-    }
-
     private BookDetailsDto toDetailsDto(BookEntity entity) {
         BookPricing pricing = entity.getPricing();
         BigDecimal purchase = pricing != null ? pricing.getPurchasePrice() : null;
@@ -0,0 +1,55 @@
+package ru.synergy.libraryapp.book;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/books")
+@RequiredArgsConstructor
+public class BookTransferController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookImportReport> importBooks(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        BookImportReport report = contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))
+                ? bookImportService.importNdjson(request.getInputStream())
+                : bookImportService.importCsv(request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) {
+        BookExportFormat exportFormat = parseFormat(format);
+        StreamingResponseBody body = output -> bookExportService.export(exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=books." + exportFormat.extension())
+                .body(body);
+    }
+
+    private BookExportFormat parseFormat(String format) {
+        try {
+            return BookExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+}
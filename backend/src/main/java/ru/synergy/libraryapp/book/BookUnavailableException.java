@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.book;
+
+public class BookUnavailableException extends RuntimeException {
+    public BookUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,183 @@
+package ru.synergy.libraryapp.book;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.synergy.libraryapp.common.AfterCommit;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class CatalogCache {
+    private static final String BUMP_GENERATION_SQL =
+            "UPDATE catalog_state SET generation = generation + 1 WHERE id = 1 RETURNING generation";
+    private static final String CURRENT_GENERATION_SQL = "SELECT generation FROM catalog_state WHERE id = 1";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<PageCacheKey, CachedBody> pages;
+    private final Cache<UUID, CachedBody> details;
+    private final AtomicLong localGeneration = new AtomicLong();
+    private final AtomicLong sharedGeneration = new AtomicLong(-1);
+
+    public CatalogCache(ObjectMapper objectMapper,
+                        JdbcTemplate jdbcTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${library.catalog.cache.page-max-bytes}") long pageMaxBytes,
+                        @Value("${library.catalog.cache.detail-max-bytes}") long detailMaxBytes,
+                        @Value("${library.catalog.cache.ttl}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pages = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(pageMaxBytes)
+                .<PageCacheKey, CachedBody>weigher((key, value) -> value.response().body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), "catalog.pages");
+        this.details = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(detailMaxBytes)
+                .<UUID, CachedBody>weigher((key, value) -> value.response().body().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), "catalog.details");
+    }
+
+    public CachedResponse page(PageCacheKey key, Supplier<?> loader) {
+        long generation = localGeneration.get();
+        CachedBody cached = pages.getIfPresent(key);
+        if (cached != null && cached.generation() == generation) {
+            return cached.response();
+        }
+        byte[] body = serialize(loader.get());
+        CachedResponse response = new CachedResponse(contentETag(body), body);
+        pages.put(key, new CachedBody(generation, response));
+        return response;
+    }
+
+    public CachedResponse cachedDetails(UUID id) {
+        CachedBody cached = details.getIfPresent(id);
+        return cached != null && cached.generation() == localGeneration.get() ? cached.response() : null;
+    }
+
+    public CachedResponse details(UUID id, Supplier<BookDetailsDto> loader) {
+        CachedResponse cached = cachedDetails(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = localGeneration.get();
+        BookDetailsDto dto = loader.get();
+        CachedResponse response = new CachedResponse(detailsETag(dto), serialize(dto));
+        details.put(id, new CachedBody(generation, response));
+        return response;
+    }
+
+    public void invalidateBook(UUID id) {
+        long generation = bumpSharedGeneration();
+        AfterCommit.run(() -> {
+            localGeneration.incrementAndGet();
+            pages.invalidateAll();
+            if (id != null) {
+                details.invalidate(id);
+            }
+            sharedGeneration.compareAndSet(generation - 1, generation);
+            log.debug("Catalog cache invalidated. bookId={}, generation={}", id, generation);
+        });
+    }
+
+    public void invalidateAll() {
+        long generation = bumpSharedGeneration();
+        AfterCommit.run(() -> {
+            clearAll();
+            sharedGeneration.compareAndSet(generation - 1, generation);
+            log.debug("Catalog cache fully invalidated. generation={}", generation);
+        });
+    }
+
+    public long observedGeneration() {
+        return sharedGeneration.get();
+    }
+
+    public long currentGeneration() {
+        Long generation = jdbcTemplate.queryForObject(CURRENT_GENERATION_SQL, Long.class);
+        return generation != null ? generation : 0;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${library.catalog.cache.generation-poll-interval}")
+    public void syncGeneration() {
+        long current = currentGeneration();
+        long observed = sharedGeneration.get();
+        if (current != observed && sharedGeneration.compareAndSet(observed, current)) {
+            clearAll();
+            log.debug("Catalog changed on another node, cache cleared. generation={}", current);
+        }
+    }
+
+    private long bumpSharedGeneration() {
+        Long generation = jdbcTemplate.queryForObject(BUMP_GENERATION_SQL, Long.class);
+        return generation != null ? generation : 0;
+    }
+
+    private void clearAll() {
+        localGeneration.incrementAndGet();
+        pages.invalidateAll();
+        details.invalidateAll();
+    }
+
+    private String contentETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"c" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private String detailsETag(BookDetailsDto dto) {
+        OffsetDateTime changedAt = dto.updatedAt() != null ? dto.updatedAt() : dto.createdAt();
+        Instant version = changedAt != null ? changedAt.toInstant() : Instant.EPOCH;
+        return "\"b" + dto.id() + "." + Long.toString(version.getEpochSecond(), 36) + "." + version.getNano() + "\"";
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize catalog response", ex);
+        }
+    }
+
+    public sealed interface PageCacheKey permits PageKey, ScrollKey, FacetsKey {
+    }
+
+    public record PageKey(BookFilter filter, int page, int size) implements PageCacheKey {
+    }
+
+    public record ScrollKey(BookFilter filter, String after, int size) implements PageCacheKey {
+    }
+
+    public record FacetsKey(BookFilter filter) implements PageCacheKey {
+    }
+
+    public record CachedResponse(String etag, byte[] body) {
+    }
+
+    private record CachedBody(long generation, CachedResponse response) {
+    }
+}
@@ -0,0 +1,109 @@
+package ru.synergy.libraryapp.book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogFacets {
+    private final BookRepository bookRepository;
+    private final CatalogCache catalogCache;
+
+    private final Object lock = new Object();
+    private FacetCounts all;
+    private FacetCounts available;
+    private long generation = -1;
+
+    public Optional<BookFacetsDto> unfiltered(boolean includeInactive) {
+        synchronized (lock) {
+            if (all == null || generation != catalogCache.observedGeneration()) {
+                return Optional.empty();
+            }
+            return Optional.of(includeInactive ? all.snapshot(true) : available.snapshot(false));
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${library.catalog.facets.check-interval}")
+    public void refresh() {
+        long current = catalogCache.currentGeneration();
+        synchronized (lock) {
+            if (all != null && generation == current) {
+                return;
+            }
+        }
+        rebuild();
+    }
+
+    public void rebuild() {
+        long builtFrom = catalogCache.currentGeneration();
+        List<BookFacetRow> rows = bookRepository.countFacets(new BookFilter(null, null, null, null, null, null, true));
+        FacetCounts rebuiltAll = new FacetCounts();
+        FacetCounts rebuiltAvailable = new FacetCounts();
+        for (BookFacetRow row : rows) {
+            rebuiltAll.add(row);
+            if (row.status() == BookStatus.AVAILABLE) {
+                rebuiltAvailable.add(row);
+            }
+        }
+        synchronized (lock) {
+            if (all != null && builtFrom < generation) {
+                return;
+            }
+            all = rebuiltAll;
+            available = rebuiltAvailable;
+            generation = builtFrom;
+        }
+        log.debug("Catalog facets rebuilt. groups={}, generation={}", rows.size(), builtFrom);
+    }
+
+    private static final class FacetCounts {
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> authors = new HashMap<>();
+        private final Map<Integer, Long> years = new HashMap<>();
+        private final Map<BookStatus, Long> statuses = new EnumMap<>(BookStatus.class);
+        private BookFacetsDto withStatuses;
+        private BookFacetsDto withoutStatuses;
+
+        void add(BookFacetRow row) {
+            increment(categories, row.category(), row.count());
+            increment(authors, row.author(), row.count());
+            increment(years, row.year(), row.count());
+            if (row.category() != null) {
+                increment(statuses, row.status(), row.count());
+            }
+            withStatuses = null;
+            withoutStatuses = null;
+        }
+
+        BookFacetsDto snapshot(boolean includeStatuses) {
+            if (includeStatuses) {
+                if (withStatuses == null) {
+                    withStatuses = new BookFacetsDto(new TreeMap<>(categories), new TreeMap<>(authors),
+                            new TreeMap<>(years), new EnumMap<>(statuses));
+                }
+                return withStatuses;
+            }
+            if (withoutStatuses == null) {
+                withoutStatuses = new BookFacetsDto(new TreeMap<>(categories), new TreeMap<>(authors),
+                        new TreeMap<>(years), null);
+            }
+            return withoutStatuses;
+        }
+
+        private static <K> void increment(Map<K, Long> counts, K key, long count) {
+            if (key != null) {
+                counts.merge(key, count, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.synergy.libraryapp.book;
+
+public enum CopyStatus {
+    AVAILABLE,
+    ON_LOAN,
+    SOLD,
+    WITHDRAWN
+}
@@ -0,0 +1,83 @@
+package ru.synergy.libraryapp.common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader {
+    private final Reader reader;
+    private int pending = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int ch;
+        while ((ch = read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (ch == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) ch);
+                }
+                continue;
+            }
+            switch (ch) {
+                case '"' -> quoted = true;
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }
+                case '\r' -> {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                case '\n' -> {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                case '\uFEFF' -> {
+                    if (field.length() > 0 || !fields.isEmpty()) {
+                        field.append((char) ch);
+                    }
+                }
+                default -> field.append((char) ch);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int ch = pending;
+            pending = -2;
+            return ch;
+        }
+        return reader.read();
+    }
+
+    private void unread(int ch) {
+        pending = ch;
+    }
+}
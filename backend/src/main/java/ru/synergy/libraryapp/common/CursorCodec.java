@@ -0,0 +1,31 @@
+package ru.synergy.libraryapp.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+    private final ObjectMapper objectMapper;
+
+    public String encode(Object cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to encode cursor", ex);
+        }
+    }
+
+    public <T> T decode(String token, Class<T> type) {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(token), type);
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.synergy.libraryapp.book.BookUnavailableException;
+import ru.synergy.libraryapp.idempotency.IdempotencyKeyReuseException;
 import ru.synergy.libraryapp.user.UserAlreadyExistsException;
 
 import java.util.HashMap;
@@ -35,6 +37,20 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(BookUnavailableException.class)
+    public ResponseEntity<ApiError> handleBookUnavailable(BookUnavailableException ex) {
+        log.warn("Book claim rejected: {}", ex.getMessage());
+        ApiError body = new ApiError(ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        log.warn("Idempotency conflict: {}", ex.getMessage());
+        ApiError body = new ApiError(ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(ResourceNotFoundException ex) {
         log.warn("Resource not found: {}", ex.getMessage());
@@ -17,6 +17,7 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -24,11 +25,12 @@ import java.util.Optional;
 @Slf4j
 public class HttpLoggingFilter extends OncePerRequestFilter {
     private static final int MAX_PAYLOAD_LENGTH = 2000;
+    private static final List<String> STREAMING_PATHS = List.of("/api/admin/books/import", "/api/admin/books/export");
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path == null || !path.startsWith("/api");
+        return path == null || !path.startsWith("/api") || STREAMING_PATHS.stream().anyMatch(path::startsWith);
     }
 
     @Override
@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.idempotency;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.synergy.libraryapp.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public <T> T execute(String scope, UUID userId, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters long");
+        }
+        String scopedKey = scope + ":" + userId + ":" + key;
+        byte[] response = store.execute(scopedKey, fingerprint(scope, request), () -> serialize(action.get()));
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read stored idempotent response", ex);
+        }
+    }
+
+    private String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to fingerprint request", ex);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize idempotent response", ex);
+        }
+    }
+}
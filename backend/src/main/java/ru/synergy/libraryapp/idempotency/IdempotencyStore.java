@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.idempotency;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyStore {
+    byte[] execute(String key, String fingerprint, Supplier<byte[]> action);
+}
@@ -0,0 +1,77 @@
+package ru.synergy.libraryapp.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "library.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public InMemoryIdempotencyStore(@Value("${library.idempotency.ttl}") Duration ttl,
+                                    @Value("${library.idempotency.max-entries}") long maxEntries,
+                                    @Value("${library.idempotency.wait-timeout}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public byte[] execute(String key, String fingerprint, Supplier<byte[]> action) {
+        while (true) {
+            Entry created = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = entries.asMap().putIfAbsent(key, created);
+            if (existing == null) {
+                return run(key, created, action);
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+            }
+            byte[] response = await(existing);
+            if (response != null) {
+                return response;
+            }
+        }
+    }
+
+    private byte[] run(String key, Entry entry, Supplier<byte[]> action) {
+        try {
+            byte[] response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            entries.asMap().remove(key, entry);
+            entry.response().complete(null);
+            throw ex;
+        }
+    }
+
+    private byte[] await(Entry entry) {
+        try {
+            return entry.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyReuseException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotent request", ex);
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<byte[]> response) {
+    }
+}
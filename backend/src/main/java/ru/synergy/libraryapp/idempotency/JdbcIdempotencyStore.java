@@ -0,0 +1,90 @@
+package ru.synergy.libraryapp.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "library.idempotency.store", havingValue = "jdbc")
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (?, ?, NOW(), NOW() + make_interval(secs => ?))
+            ON CONFLICT (idempotency_key) DO UPDATE SET
+                fingerprint = EXCLUDED.fingerprint,
+                response = NULL,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < NOW()
+            """;
+    private static final String PURGE_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE idempotency_key IN (
+                SELECT idempotency_key FROM idempotency_keys
+                WHERE expires_at < NOW()
+                LIMIT 1000
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlSeconds;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${library.idempotency.ttl}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlSeconds = ttl.toSeconds();
+    }
+
+    @Override
+    public byte[] execute(String key, String fingerprint, Supplier<byte[]> action) {
+        return transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(CLAIM_SQL, key, fingerprint, ttlSeconds) == 0) {
+                return replay(key, fingerprint);
+            }
+            byte[] response = action.get();
+            jdbcTemplate.update("UPDATE idempotency_keys SET response = ? WHERE idempotency_key = ?", response, key);
+            return response;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${library.idempotency.purge-interval}")
+    public void purgeExpired() {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL);
+            if (deleted > 0) {
+                log.debug("Expired idempotency keys purged. count={}", deleted);
+            }
+        } while (deleted == 1000);
+    }
+
+    private byte[] replay(String key, String fingerprint) {
+        List<StoredResponse> stored = jdbcTemplate.query(
+                "SELECT fingerprint, response FROM idempotency_keys WHERE idempotency_key = ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getBytes("response")),
+                key);
+        if (!stored.isEmpty() && !stored.get(0).fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+        }
+        if (stored.isEmpty() || stored.get(0).response() == null) {
+            throw new IdempotencyKeyReuseException("A request with this idempotency key is still in progress");
+        }
+        return stored.get(0).response();
+    }
+
+    private record StoredResponse(String fingerprint, byte[] response) {
+    }
+}
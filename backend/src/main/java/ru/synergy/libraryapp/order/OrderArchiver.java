@@ -0,0 +1,137 @@
+package ru.synergy.libraryapp.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.synergy.libraryapp.scheduling.SchedulerLeases;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class OrderArchiver {
+    private static final String SELECT_BATCH_SQL = """
+            SELECT id FROM orders
+            WHERE status = 'COMPLETED'
+              AND COALESCE(updated_at, created_at) < ?
+            ORDER BY created_at
+            LIMIT ?
+            """;
+    private static final String ARCHIVE_SQL = """
+            WITH moved AS (
+                DELETE FROM orders
+                WHERE status = 'COMPLETED' AND id = ANY(?)
+                RETURNING id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at, updated_at
+            )
+            INSERT INTO orders_archive (id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at, updated_at)
+            SELECT id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at, updated_at
+            FROM moved
+            """;
+    private static final String ARCHIVE_REMINDERS_SQL = """
+            WITH moved AS (
+                DELETE FROM reminders
+                WHERE order_id = ANY(?)
+                RETURNING id, order_id, remind_at, delivered, delivered_at, attempts,
+                          next_attempt_at, last_error, dead_letter, created_at
+            )
+            INSERT INTO reminders_archive (id, order_id, remind_at, delivered, delivered_at, attempts,
+                                           next_attempt_at, last_error, dead_letter, created_at)
+            SELECT id, order_id, remind_at, delivered, delivered_at, attempts,
+                   next_attempt_at, last_error, dead_letter, created_at
+            FROM moved
+            """;
+    private static final String JOB = "orders.archive";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeases schedulerLeases;
+    private final Duration closedFor;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration lease;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public OrderArchiver(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         SchedulerLeases schedulerLeases,
+                         @Value("${library.orders.archive.closed-for}") Duration closedFor,
+                         @Value("${library.orders.archive.batch-size}") int batchSize,
+                         @Value("${library.orders.archive.batch-pause}") Duration batchPause,
+                         @Value("${library.orders.archive.lease}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLeases = schedulerLeases;
+        this.closedFor = closedFor;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.lease = lease;
+    }
+
+    @Scheduled(cron = "${library.orders.archive.cron}")
+    public void archiveClosedOrders() {
+        schedulerLeases.runExclusively(JOB, lease, this::archive);
+    }
+
+    private void archive() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        ensurePartition(current);
+        ensurePartition(current.plusMonths(1));
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(closedFor);
+        long selected = 0;
+        int moved;
+        do {
+            moved = archiveBatch(cutoff);
+            selected += moved;
+        } while (moved == batchSize && pause() && schedulerLeases.extend(JOB, lease));
+        if (selected > 0) {
+            log.info("Closed orders archived. count={}, cutoff={}", selected, cutoff);
+        }
+    }
+
+    private int archiveBatch(OffsetDateTime cutoff) {
+        List<UUID> batch = jdbcTemplate.queryForList(SELECT_BATCH_SQL, UUID.class, cutoff, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        UUID[] ids = batch.toArray(UUID[]::new);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(ARCHIVE_REMINDERS_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+            jdbcTemplate.update(ARCHIVE_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+        });
+        return batch.size();
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        String name = "orders_archive_" + month.format(PARTITION_SUFFIX);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF orders_archive FOR VALUES FROM ('"
+                + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        knownPartitions.add(month);
+        log.info("Archive partition ready. partition={}", name);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
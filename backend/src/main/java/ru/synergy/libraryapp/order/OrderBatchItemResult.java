@@ -0,0 +1,13 @@
+package ru.synergy.libraryapp.order;
+
+import java.util.UUID;
+
+public record OrderBatchItemResult(
+        int index,
+        UUID bookId,
+        OrderType type,
+        boolean success,
+        OrderDto order,
+        String error
+) {
+}
@@ -0,0 +1,15 @@
+package ru.synergy.libraryapp.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderBatchRequest(
+        @NotEmpty(message = "Add at least one item")
+        @Size(max = 20, message = "At most 20 items per checkout")
+        List<@Valid @NotNull CreateOrderRequest> items
+) {
+}
@@ -0,0 +1,10 @@
+package ru.synergy.libraryapp.order;
+
+import java.util.List;
+
+public record OrderBatchResultDto(
+        List<OrderBatchItemResult> items,
+        int succeeded,
+        int failed
+) {
+}
@@ -2,48 +2,100 @@ package ru.synergy.libraryapp.order;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.synergy.libraryapp.idempotency.IdempotencyService;
 import ru.synergy.libraryapp.security.AppUserDetails;
 
-import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/orders")
     public ResponseEntity<OrderDto> createOrder(@AuthenticationPrincipal AppUserDetails principal,
+                                                @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
                                                 @Valid @RequestBody CreateOrderRequest request) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        OrderDto dto = orderService.createOrder(principal.getUser().getId(), request);
+        UUID userId = principal.getUser().getId();
+        OrderDto dto = idempotencyService.execute("orders", userId, idempotencyKey, request, OrderDto.class,
+                () -> orderService.createOrder(userId, request));
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
     }
 
+    @PostMapping("/orders/batch")
+    public ResponseEntity<OrderBatchResultDto> createOrders(@AuthenticationPrincipal AppUserDetails principal,
+                                                           @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                           @Valid @RequestBody OrderBatchRequest request) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UUID userId = principal.getUser().getId();
+        OrderBatchResultDto result = idempotencyService.execute("orders-batch", userId, idempotencyKey, request,
+                OrderBatchResultDto.class, () -> orderService.createOrders(userId, request.items()));
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/orders/my")
-    public ResponseEntity<List<OrderDto>> myOrders(@AuthenticationPrincipal AppUserDetails principal) {
+    public ResponseEntity<OrderPageDto> myOrders(@AuthenticationPrincipal AppUserDetails principal,
+                                                 @RequestParam(required = false) Set<OrderStatus> status,
+                                                 @RequestParam(required = false) OrderType type,
+                                                 @RequestParam(required = false) UUID bookId,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "20") int size) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        List<OrderDto> orders = orderService.userOrders(principal.getUser().getId());
+        OrderFilter filter = new OrderFilter(status, type, bookId, null, from, to);
+        OrderPageDto orders = orderService.userOrders(principal.getUser().getId(), filter, after, pageSize(size));
         return ResponseEntity.ok(orders);
     }
 
     @GetMapping("/admin/orders")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderDto>> activeOrders() {
-        List<OrderDto> orders = orderService.adminActiveOrders();
+    public ResponseEntity<OrderPageDto> adminOrders(@RequestParam(required = false) Set<OrderStatus> status,
+                                                    @RequestParam(required = false) OrderType type,
+                                                    @RequestParam(required = false) UUID bookId,
+                                                    @RequestParam(required = false) UUID userId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        OrderFilter filter = new OrderFilter(status, type, bookId, userId, from, to);
+        OrderPageDto orders = orderService.adminOrders(filter, after, pageSize(size));
         return ResponseEntity.ok(orders);
     }
+
+    @PostMapping("/admin/orders/{id}/return")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OrderDto> returnOrder(@PathVariable UUID id) {
+        return ResponseEntity.ok(orderService.returnOrder(id));
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), 100);
+    }
 }
@@ -0,0 +1,10 @@
+package ru.synergy.libraryapp.order;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OrderCursor(
+        OffsetDateTime createdAt,
+        UUID id
+) {
+}
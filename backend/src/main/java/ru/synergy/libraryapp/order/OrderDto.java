@@ -12,6 +12,7 @@ public record OrderDto(
         OrderStatus status,
         BigDecimal price,
         OffsetDateTime startDate,
-        OffsetDateTime endDate
+        OffsetDateTime endDate,
+        OffsetDateTime createdAt
 ) {
 }
@@ -0,0 +1,9 @@
+package ru.synergy.libraryapp.order;
+
+import java.util.UUID;
+
+public record OrderEvent(
+        UUID userId,
+        OrderDto order
+) {
+}
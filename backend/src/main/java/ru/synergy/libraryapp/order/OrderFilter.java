@@ -0,0 +1,15 @@
+package ru.synergy.libraryapp.order;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record OrderFilter(
+        Set<OrderStatus> statuses,
+        OrderType type,
+        UUID bookId,
+        UUID userId,
+        OffsetDateTime from,
+        OffsetDateTime to
+) {
+}
@@ -0,0 +1,11 @@
+package ru.synergy.libraryapp.order;
+
+import java.util.List;
+
+public record OrderPageDto(
+        List<OrderDto> items,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,8 @@
+package ru.synergy.libraryapp.order;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface OrderQueryRepository {
+    List<OrderDto> findPage(OrderFilter filter, OrderCursor after, OffsetDateTime now, int limit);
+}
@@ -0,0 +1,87 @@
+package ru.synergy.libraryapp.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ru.synergy.libraryapp.book.BookEntity;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class OrderQueryRepositoryImpl implements OrderQueryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderDto> findPage(OrderFilter filter, OrderCursor after, OffsetDateTime now, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderDto> query = cb.createQuery(OrderDto.class);
+        boolean liveOnly = filter.statuses() != null && !filter.statuses().isEmpty()
+                && !filter.statuses().contains(OrderStatus.COMPLETED);
+        Root<?> root = liveOnly ? query.from(OrderEntity.class) : query.from(OrderHistoryEntity.class);
+        Join<?, BookEntity> book = root.join("book");
+        query.select(cb.construct(OrderDto.class,
+                root.get("id"),
+                book.get("id"),
+                book.get("title"),
+                root.get("type"),
+                root.get("status"),
+                root.get("price"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("createdAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            predicates.add(cb.or(filter.statuses().stream()
+                    .map(status -> effectiveStatusIs(root, cb, status, now))
+                    .toArray(Predicate[]::new)));
+        }
+        if (filter.type() != null) {
+            predicates.add(cb.equal(root.get("type"), filter.type()));
+        }
+        if (filter.bookId() != null) {
+            predicates.add(cb.equal(root.get("book").get("id"), filter.bookId()));
+        }
+        if (filter.userId() != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), filter.userId()));
+        }
+        Path<OffsetDateTime> createdAt = root.get("createdAt");
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.to()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(root.<UUID>get("id"), after.id()))));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(createdAt), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate effectiveStatusIs(Root<?> root, CriteriaBuilder cb, OrderStatus status, OffsetDateTime now) {
+        Path<OffsetDateTime> endDate = root.get("endDate");
+        return switch (status) {
+            case ACTIVE -> cb.and(
+                    cb.equal(root.get("status"), OrderStatus.ACTIVE),
+                    cb.or(cb.isNull(endDate), cb.greaterThanOrEqualTo(endDate, now)));
+            case OVERDUE -> cb.or(
+                    cb.equal(root.get("status"), OrderStatus.OVERDUE),
+                    cb.and(cb.equal(root.get("status"), OrderStatus.ACTIVE), cb.lessThan(endDate, now)));
+            case COMPLETED -> cb.equal(root.get("status"), OrderStatus.COMPLETED);
+        };
+    }
+}
@@ -1,14 +1,25 @@
 package ru.synergy.libraryapp.order;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
-    List<OrderEntity> findByUser_IdOrderByCreatedAtDesc(UUID userId);
-    List<OrderEntity> findByStatus(OrderStatus status);
-    List<OrderEntity> findByStatusAndEndDateBefore(OrderStatus status, OffsetDateTime moment);
-    List<OrderEntity> findByStatusAndEndDateBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to);
+public interface OrderRepository extends JpaRepository<OrderEntity, UUID>, OrderQueryRepository {
+    @Modifying
+    @Query("""
+            update OrderEntity o set o.status = ru.synergy.libraryapp.order.OrderStatus.OVERDUE, o.updatedAt = :now
+            where o.status = ru.synergy.libraryapp.order.OrderStatus.ACTIVE and o.endDate < :now
+            """)
+    int markOverdue(@Param("now") OffsetDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OrderEntity o where o.id = :id")
+    Optional<OrderEntity> findByIdForUpdate(@Param("id") UUID id);
 }
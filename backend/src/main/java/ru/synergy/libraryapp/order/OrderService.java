@@ -2,28 +2,55 @@ package ru.synergy.libraryapp.order;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.synergy.libraryapp.analytics.AnalyticsRollupService;
+import ru.synergy.libraryapp.analytics.OrderFact;
 import ru.synergy.libraryapp.book.BookEntity;
+import ru.synergy.libraryapp.book.BookInventoryService;
 import ru.synergy.libraryapp.book.BookRepository;
 import ru.synergy.libraryapp.book.BookStatus;
+import ru.synergy.libraryapp.book.BookUnavailableException;
+import ru.synergy.libraryapp.book.CopyStatus;
+import ru.synergy.libraryapp.common.CursorCodec;
 import ru.synergy.libraryapp.common.ResourceNotFoundException;
+import ru.synergy.libraryapp.outbox.OutboxWriter;
+import ru.synergy.libraryapp.reminder.ReminderTimer;
 import ru.synergy.libraryapp.user.UserEntity;
 import ru.synergy.libraryapp.user.UserService;
 
 import java.math.BigDecimal;
+import java.sql.Types;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Stream;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
+    private static final String ORDER_AGGREGATE = "order";
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders (id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final OrderRepository orderRepository;
     private final BookRepository bookRepository;
     private final UserService userService;
+    private final BookInventoryService inventoryService;
+    private final CursorCodec cursorCodec;
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsRollupService rollups;
+    private final OutboxWriter outbox;
+    private final ReminderTimer reminderTimer;
 
     @Transactional
     public OrderDto createOrder(UUID userId, CreateOrderRequest request) {
@@ -33,80 +60,156 @@ public class OrderService {
         if (book.getStatus() != BookStatus.AVAILABLE) {
             throw new IllegalArgumentException("Book is not available");
         }
+        BigDecimal price = resolvePrice(book, request.type());
+        if (price == null) {
+            throw new IllegalArgumentException("Pricing for the selected option is not configured");
+        }
+        CopyStatus copyStatus = request.type() == OrderType.PURCHASE ? CopyStatus.SOLD : CopyStatus.ON_LOAN;
+        UUID copyId = inventoryService.allocate(book.getId(), copyStatus)
+                .orElseThrow(() -> new BookUnavailableException("No copies of the book are available"));
 
         OrderEntity order = new OrderEntity();
         order.setUser(user);
         order.setBook(book);
+        order.setCopyId(copyId);
         order.setType(request.type());
-
-        BigDecimal price = resolvePrice(book, request.type());
-        if (price == null) {
-            throw new IllegalArgumentException("Pricing for the selected option is not configured");
-        }
         order.setPrice(price);
 
         OffsetDateTime now = OffsetDateTime.now();
         order.setStartDate(now);
+        order.setCreatedAt(now);
+        order.setEndDate(resolveEndDate(request.type(), now));
+        order.setStatus(initialStatus(request.type()));
 
-        switch (request.type()) {
-            case PURCHASE -> {
-                order.setEndDate(null);
-                order.setStatus(OrderStatus.COMPLETED);
-            }
-            case RENT_TWO_WEEKS -> {
-                order.setEndDate(now.plusWeeks(2));
-                order.setStatus(OrderStatus.ACTIVE);
+        OrderEntity saved = orderRepository.save(order);
+        OrderDto dto = toDto(saved);
+        outbox.append(ORDER_AGGREGATE, saved.getId(), "OrderCreated", new OrderEvent(userId, dto));
+        rollups.recordOrders(List.of(new OrderFact(saved.getId(), book.getId(), book.getCategory(), request.type(), price, now)));
+        log.info("Order created. orderId={}, userId={}, bookId={}, type={}", saved.getId(), userId, book.getId(), request.type());
+        return dto;
+    }
+
+    @Transactional
+    public OrderBatchResultDto createOrders(UUID userId, List<CreateOrderRequest> items) {
+        userService.getById(userId);
+        Set<UUID> bookIds = items.stream().map(CreateOrderRequest::bookId).collect(Collectors.toSet());
+        Map<UUID, BookEntity> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(BookEntity::getId, Function.identity()));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderBatchItemResult> results = new ArrayList<>(items.size());
+        List<PendingOrder> pending = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            CreateOrderRequest item = items.get(index);
+            BookEntity book = books.get(item.bookId());
+            BigDecimal price = book != null ? resolvePrice(book, item.type()) : null;
+            String error = null;
+            if (book == null) {
+                error = "Book not found";
+            } else if (book.getStatus() != BookStatus.AVAILABLE) {
+                error = "Book is not available";
+            } else if (price == null) {
+                error = "Pricing for the selected option is not configured";
             }
-            case RENT_ONE_MONTH -> {
-                order.setEndDate(now.plusMonths(1));
-                order.setStatus(OrderStatus.ACTIVE);
+            UUID copyId = null;
+            if (error == null) {
+                CopyStatus copyStatus = item.type() == OrderType.PURCHASE ? CopyStatus.SOLD : CopyStatus.ON_LOAN;
+                copyId = inventoryService.allocate(book.getId(), copyStatus).orElse(null);
+                if (copyId == null) {
+                    error = "No copies of the book are available";
+                }
             }
-            case RENT_THREE_MONTHS -> {
-                order.setEndDate(now.plusMonths(3));
-                order.setStatus(OrderStatus.ACTIVE);
+            if (error != null) {
+                results.add(new OrderBatchItemResult(index, item.bookId(), item.type(), false, null, error));
+                continue;
             }
+            OrderDto order = new OrderDto(UUID.randomUUID(), book.getId(), book.getTitle(), item.type(),
+                    initialStatus(item.type()), price, now, resolveEndDate(item.type(), now), now);
+            pending.add(new PendingOrder(order, copyId));
+            results.add(new OrderBatchItemResult(index, item.bookId(), item.type(), true, order, null));
         }
 
-        OrderEntity saved = orderRepository.save(order);
-        log.info("Order created. orderId={}, userId={}, bookId={}, type={}", saved.getId(), userId, book.getId(), request.type());
-        return toDto(saved);
+        if (!pending.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, pending, pending.size(), (ps, row) -> {
+                OrderDto order = row.order();
+                ps.setObject(1, order.id());
+                ps.setObject(2, userId);
+                ps.setObject(3, order.bookId());
+                ps.setObject(4, row.copyId());
+                ps.setString(5, order.type().name());
+                ps.setString(6, order.status().name());
+                ps.setBigDecimal(7, order.price());
+                ps.setObject(8, order.startDate());
+                if (order.endDate() == null) {
+                    ps.setNull(9, Types.TIMESTAMP_WITH_TIMEZONE);
+                } else {
+                    ps.setObject(9, order.endDate());
+                }
+                ps.setObject(10, order.createdAt());
+            });
+        }
+        outbox.appendAll(ORDER_AGGREGATE, "OrderCreated", pending.stream()
+                .map(row -> new OutboxWriter.Entry(row.order().id(), new OrderEvent(userId, row.order())))
+                .toList());
+        rollups.recordOrders(pending.stream()
+                .map(row -> new OrderFact(row.order().id(), row.order().bookId(), books.get(row.order().bookId()).getCategory(),
+                        row.order().type(), row.order().price(), row.order().createdAt()))
+                .toList());
+        log.info("Batch checkout finished. userId={}, requested={}, created={}", userId, items.size(), pending.size());
+        return new OrderBatchResultDto(results, pending.size(), items.size() - pending.size());
     }
 
     @Transactional
-    public List<OrderDto> userOrders(UUID userId) {
-        refreshStatuses();
-        return orderRepository.findByUser_IdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public OrderDto returnOrder(UUID orderId) {
+        OrderEntity order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        if (order.getType() == OrderType.PURCHASE || order.getStatus() == OrderStatus.COMPLETED) {
+            throw new IllegalArgumentException("Only active rentals can be returned");
+        }
+        order.setStatus(OrderStatus.COMPLETED);
+        if (order.getCopyId() != null) {
+            inventoryService.release(order.getCopyId());
+        }
+        reminderTimer.cancelForOrder(orderId);
+        OrderDto dto = toDto(order);
+        outbox.append(ORDER_AGGREGATE, orderId, "OrderReturned", new OrderEvent(order.getUser().getId(), dto));
+        rollups.recordReturn(order.getId(), order.getBook().getId());
+        log.info("Rental returned. orderId={}, bookId={}, copyId={}", orderId, order.getBook().getId(), order.getCopyId());
+        return dto;
     }
 
-    @Transactional
-    public List<OrderDto> adminActiveOrders() {
-        refreshStatuses();
-        List<OrderDto> active = orderRepository.findByStatus(OrderStatus.ACTIVE)
-                .stream()
-                .map(this::toDto)
-                .toList();
-        List<OrderDto> overdue = orderRepository.findByStatus(OrderStatus.OVERDUE)
-                .stream()
-                .map(this::toDto)
-                .toList();
-        return Stream.concat(active.stream(), overdue.stream()).toList();
+    @Transactional(readOnly = true)
+    public OrderPageDto userOrders(UUID userId, OrderFilter filter, String after, int size) {
+        OrderFilter scoped = new OrderFilter(filter.statuses(), filter.type(), filter.bookId(), userId,
+                filter.from(), filter.to());
+        return findOrders(scoped, after, size);
     }
 
-    @Transactional
-    public void refreshStatuses() {
-        OffsetDateTime now = OffsetDateTime.now();
-        List<OrderEntity> overdue = orderRepository.findByStatusAndEndDateBefore(OrderStatus.ACTIVE, now);
-        for (OrderEntity entity : overdue) {
-            entity.setStatus(OrderStatus.OVERDUE);
+    @Transactional(readOnly = true)
+    public OrderPageDto adminOrders(OrderFilter filter, String after, int size) {
+        if (filter.statuses() == null || filter.statuses().isEmpty()) {
+            filter = new OrderFilter(EnumSet.of(OrderStatus.ACTIVE, OrderStatus.OVERDUE), filter.type(),
+                    filter.bookId(), filter.userId(), filter.from(), filter.to());
         }
+        return findOrders(filter, after, size);
     }
 
-    @Transactional(readOnly = true)
-    public List<OrderEntity> findRentalsExpiringInWindow(OffsetDateTime from, OffsetDateTime to) {
-        return orderRepository.findByStatusAndEndDateBetween(OrderStatus.ACTIVE, from, to);
+    @Transactional
+    public int markOverdue() {
+        return orderRepository.markOverdue(OffsetDateTime.now());
+    }
+
+    private OffsetDateTime resolveEndDate(OrderType type, OffsetDateTime start) {
+        return switch (type) {
+            case PURCHASE -> null;
+            case RENT_TWO_WEEKS -> start.plusWeeks(2);
+            case RENT_ONE_MONTH -> start.plusMonths(1);
+            case RENT_THREE_MONTHS -> start.plusMonths(3);
+        };
+    }
+
+    private OrderStatus initialStatus(OrderType type) {
+        return type == OrderType.PURCHASE ? OrderStatus.COMPLETED : OrderStatus.ACTIVE;
     }
 
     private BigDecimal resolvePrice(BookEntity book, OrderType type) {
@@ -121,16 +224,55 @@ public class OrderService {
         };
     }
 
+    private static OrderStatus effectiveStatus(OrderStatus status, OffsetDateTime endDate, OffsetDateTime now) {
+        if (status == OrderStatus.ACTIVE && endDate != null && endDate.isBefore(now)) {
+            return OrderStatus.OVERDUE;
+        }
+        return status;
+    }
+
+    private OrderPageDto findOrders(OrderFilter filter, String after, int size) {
+        OrderCursor cursor = after != null && !after.isBlank() ? cursorCodec.decode(after, OrderCursor.class) : null;
+        if (cursor != null && (cursor.createdAt() == null || cursor.id() == null)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderDto> rows = orderRepository.findPage(filter, cursor, now, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<OrderDto> content = (hasNext ? rows.subList(0, size) : rows).stream()
+                .map(dto -> withEffectiveStatus(dto, now))
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            OrderDto last = content.get(content.size() - 1);
+            nextCursor = cursorCodec.encode(new OrderCursor(last.createdAt(), last.id()));
+        }
+        return new OrderPageDto(content, size, nextCursor, hasNext);
+    }
+
+    private OrderDto withEffectiveStatus(OrderDto dto, OffsetDateTime now) {
+        OrderStatus status = effectiveStatus(dto.status(), dto.endDate(), now);
+        if (status == dto.status()) {
+            return dto;
+        }
+        return new OrderDto(dto.id(), dto.bookId(), dto.bookTitle(), dto.type(), status, dto.price(),
+                dto.startDate(), dto.endDate(), dto.createdAt());
+    }
+
     private OrderDto toDto(OrderEntity entity) {
         return new OrderDto(
                 entity.getId(),
                 entity.getBook().getId(),
                 entity.getBook().getTitle(),
                 entity.getType(),
-                entity.getStatus(),
+                effectiveStatus(entity.getStatus(), entity.getEndDate(), OffsetDateTime.now()),
                 entity.getPrice(),
                 entity.getStartDate(),
-                entity.getEndDate()
+                entity.getEndDate(),
+                entity.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+
+    private record PendingOrder(OrderDto order, UUID copyId) {
+    }
+}
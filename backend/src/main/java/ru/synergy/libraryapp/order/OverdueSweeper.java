@@ -0,0 +1,36 @@
+package ru.synergy.libraryapp.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.synergy.libraryapp.scheduling.SchedulerLeases;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+public class OverdueSweeper {
+    private final OrderService orderService;
+    private final SchedulerLeases schedulerLeases;
+
+    private final Duration lease;
+
+    public OverdueSweeper(OrderService orderService,
+                          SchedulerLeases schedulerLeases,
+                          @Value("${library.orders.overdue-sweep-lease}") Duration lease) {
+        this.orderService = orderService;
+        this.schedulerLeases = schedulerLeases;
+        this.lease = lease;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${library.orders.overdue-sweep-interval}")
+    public void sweep() {
+        schedulerLeases.runExclusively("orders.overdue-sweep", lease, () -> {
+            int updated = orderService.markOverdue();
+            if (updated > 0) {
+                log.info("Overdue rentals marked. count={}", updated);
+            }
+        });
+    }
+}
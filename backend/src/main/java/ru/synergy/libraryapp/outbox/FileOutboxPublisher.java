@@ -0,0 +1,50 @@
+package ru.synergy.libraryapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "library.outbox.publisher", havingValue = "file")
+public class FileOutboxPublisher implements OutboxPublisher {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxPublisher(ObjectMapper objectMapper, @Value("${library.outbox.file}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", event.id());
+            node.put("aggregateType", event.aggregateType());
+            node.put("aggregateId", event.aggregateId().toString());
+            node.put("eventType", event.eventType());
+            node.set("payload", objectMapper.readTree(event.payload()));
+            node.put("createdAt", event.createdAt().toString());
+            lines.append(objectMapper.writeValueAsString(node)).append('\n');
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.synergy.libraryapp.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "library.outbox.publisher", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InProcessOutboxPublisher implements OutboxPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.debug("Outbox event published. id={}, type={}, aggregateId={}", event.id(), event.eventType(), event.aggregateId());
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
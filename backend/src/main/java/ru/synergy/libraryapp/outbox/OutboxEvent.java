@@ -0,0 +1,14 @@
+package ru.synergy.libraryapp.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OutboxEvent(
+        long id,
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        String payload,
+        OffsetDateTime createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.outbox;
+
+import java.util.List;
+
+public interface OutboxPublisher {
+    void publish(List<OutboxEvent> events) throws Exception;
+}
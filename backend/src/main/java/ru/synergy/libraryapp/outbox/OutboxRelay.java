@@ -0,0 +1,88 @@
+package ru.synergy.libraryapp.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.synergy.libraryapp.scheduling.SchedulerLeases;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class OutboxRelay {
+    private static final String JOB = "outbox.relay";
+    private static final String CLAIM_SQL = """
+            SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at
+            FROM outbox_events
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPublisher publisher;
+    private final SchedulerLeases schedulerLeases;
+    private final int batchSize;
+    private final Duration lease;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       OutboxPublisher publisher,
+                       SchedulerLeases schedulerLeases,
+                       @Value("${library.outbox.batch-size}") int batchSize,
+                       @Value("${library.outbox.relay-lease}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.schedulerLeases = schedulerLeases;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.relay-interval}")
+    public void relay() {
+        schedulerLeases.runExclusively(JOB, lease, this::drain);
+    }
+
+    private void drain() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize && schedulerLeases.extend(JOB, lease));
+    }
+
+    private int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEvent(
+                    rs.getLong("id"),
+                    rs.getString("aggregate_type"),
+                    rs.getObject("aggregate_id", UUID.class),
+                    rs.getString("event_type"),
+                    rs.getString("payload"),
+                    rs.getObject("created_at", OffsetDateTime.class)), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            try {
+                publisher.publish(events);
+            } catch (Exception ex) {
+                log.warn("Outbox publish failed, batch will be retried. firstId={}, size={}", events.get(0).id(), events.size(), ex);
+                status.setRollbackOnly();
+                return 0;
+            }
+            Long[] ids = events.stream().map(OutboxEvent::id).toArray(Long[]::new);
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ANY(?)",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+            return events.size();
+        });
+        return published == null ? 0 : published;
+    }
+}
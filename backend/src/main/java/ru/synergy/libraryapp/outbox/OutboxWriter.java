@@ -0,0 +1,53 @@
+package ru.synergy.libraryapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, ?::jsonb)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, UUID aggregateId, String eventType, Object payload) {
+        jdbcTemplate.update(INSERT_SQL, aggregateType, aggregateId, eventType, serialize(payload));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String aggregateType, String eventType, List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, aggregateType);
+            ps.setObject(2, entry.aggregateId());
+            ps.setString(3, eventType);
+            ps.setString(4, serialize(entry.payload()));
+        });
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize outbox payload", ex);
+        }
+    }
+
+    public record Entry(UUID aggregateId, Object payload) {
+    }
+}
@@ -0,0 +1,52 @@
+package ru.synergy.libraryapp.reminder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Component
+@ConditionalOnProperty(name = "library.reminders.channel", havingValue = "file")
+public class FileReminderChannel implements ReminderChannel {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final int maxConcurrency;
+
+    public FileReminderChannel(ObjectMapper objectMapper,
+                               @Value("${library.reminders.file.path}") String path,
+                               @Value("${library.reminders.file.max-concurrency}") int maxConcurrency) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public synchronized void send(ReminderMessage message) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(message) + '\n').getBytes(StandardCharsets.UTF_8);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line));
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.synergy.libraryapp.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "library.reminders.channel", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogReminderChannel implements ReminderChannel {
+    private final int maxConcurrency;
+
+    public LogReminderChannel(@Value("${library.reminders.log.max-concurrency}") int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void send(ReminderMessage message) {
+        log.info("[AUTOMATED] Р В РЎСљР В Р’В°Р В РЎвЂ”Р В РЎвЂўР В РЎВР В РЎвЂР В Р вЂ¦Р В Р’В°Р В Р вЂ¦Р В РЎвЂР В Р’Вµ Р В РЎвЂўР РЋРІР‚С™Р В РЎвЂ”Р РЋР вЂљР В Р’В°Р В Р вЂ Р В Р’В»Р В Р’ВµР В Р вЂ¦Р В РЎвЂў Р В РЎвЂ”Р В РЎвЂўР В Р’В»Р РЋР Р‰Р В Р’В·Р В РЎвЂўР В Р вЂ Р В Р’В°Р РЋРІР‚С™Р В Р’ВµР В Р’В»Р РЋР вЂ№ {}: Р РЋР С“Р РЋР вЂљР В РЎвЂўР В РЎвЂќ Р В Р’В°Р РЋР вЂљР В Р’ВµР В Р вЂ¦Р В РўвЂР РЋРІР‚в„– Р В РЎвЂќР В Р вЂ¦Р В РЎвЂР В РЎвЂ“Р В РЎвЂ '{}' Р В РЎвЂР РЋР С“Р РЋРІР‚С™Р В Р’ВµР В РЎвЂќР В Р’В°Р В Р’ВµР РЋРІР‚С™ {}",
+                message.userEmail(),
+                message.bookTitle(),
+                message.endDate());
+    }
+}
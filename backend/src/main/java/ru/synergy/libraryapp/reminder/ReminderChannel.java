@@ -0,0 +1,9 @@
+package ru.synergy.libraryapp.reminder;
+
+public interface ReminderChannel {
+    String name();
+
+    int maxConcurrency();
+
+    void send(ReminderMessage message) throws Exception;
+}
@@ -0,0 +1,13 @@
+package ru.synergy.libraryapp.reminder;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ReminderDeliveredEvent(
+        UUID reminderId,
+        UUID orderId,
+        String userEmail,
+        String bookTitle,
+        OffsetDateTime endDate
+) {
+}
@@ -0,0 +1,124 @@
+package ru.synergy.libraryapp.reminder;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class ReminderDispatcher {
+    private final ReminderChannel channel;
+    private final Semaphore permits;
+    private final Duration sendTimeout;
+    private final Duration acquireWindow;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReminderDispatcher(ReminderChannel channel,
+                              @Value("${library.reminders.send-timeout}") Duration sendTimeout,
+                              @Value("${library.reminders.claim-timeout}") Duration claimTimeout) {
+        this.channel = channel;
+        this.permits = new Semaphore(channel.maxConcurrency());
+        this.sendTimeout = sendTimeout;
+        Duration window = claimTimeout.minus(sendTimeout);
+        this.acquireWindow = window.isNegative() ? Duration.ZERO : window;
+    }
+
+    public List<ReminderOutcome> dispatch(List<ReminderMessage> messages) {
+        long acquireDeadline = System.nanoTime() + acquireWindow.toNanos();
+        List<Future<ReminderOutcome>> futures = new ArrayList<>(messages.size());
+        for (ReminderMessage message : messages) {
+            futures.add(executor.submit(() -> send(message, acquireDeadline)));
+        }
+        List<ReminderOutcome> outcomes = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            outcomes.add(outcome(messages.get(i), futures.get(i)));
+        }
+        return outcomes;
+    }
+
+    private ReminderOutcome send(ReminderMessage message, long acquireDeadline) {
+        try {
+            if (!permits.tryAcquire(Math.max(acquireDeadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                return new ReminderOutcome(message, false, null);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new ReminderOutcome(message, false, null);
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> delivery;
+        try {
+            delivery = executor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    channel.send(message);
+                    return null;
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            return new ReminderOutcome(message, false, null);
+        }
+        try {
+            delivery.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return new ReminderOutcome(message, true, null);
+        } catch (TimeoutException ex) {
+            abandon(delivery, started);
+            return failure(message, "Delivery timed out after " + sendTimeout);
+        } catch (ExecutionException ex) {
+            return failure(message, ex.getCause().toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            abandon(delivery, started);
+            return failure(message, "Delivery interrupted");
+        }
+    }
+
+    private void abandon(Future<?> delivery, AtomicBoolean started) {
+        delivery.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    private ReminderOutcome failure(ReminderMessage message, String error) {
+        log.warn("Reminder delivery failed. channel={}, reminderId={}, attempt={}, error={}",
+                channel.name(), message.reminderId(), message.attempt(), error);
+        return new ReminderOutcome(message, true, error);
+    }
+
+    private ReminderOutcome outcome(ReminderMessage message, Future<ReminderOutcome> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            return failure(message, ex.getCause().toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new ReminderOutcome(message, false, null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
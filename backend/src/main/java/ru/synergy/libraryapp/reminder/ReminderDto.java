@@ -9,6 +9,9 @@ public record ReminderDto(
         String bookTitle,
         String userEmail,
         OffsetDateTime remindAt,
-        boolean delivered
+        boolean delivered,
+        int attempts,
+        boolean deadLetter,
+        String lastError
 ) {
 }
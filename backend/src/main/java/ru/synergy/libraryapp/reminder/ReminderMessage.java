@@ -0,0 +1,14 @@
+package ru.synergy.libraryapp.reminder;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ReminderMessage(
+        UUID reminderId,
+        UUID orderId,
+        String userEmail,
+        String bookTitle,
+        OffsetDateTime endDate,
+        int attempt
+) {
+}
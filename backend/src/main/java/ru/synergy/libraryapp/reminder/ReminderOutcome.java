@@ -0,0 +1,11 @@
+package ru.synergy.libraryapp.reminder;
+
+public record ReminderOutcome(ReminderMessage message, boolean attempted, String error) {
+    public boolean delivered() {
+        return attempted && error == null;
+    }
+
+    public boolean failed() {
+        return attempted && error != null;
+    }
+}
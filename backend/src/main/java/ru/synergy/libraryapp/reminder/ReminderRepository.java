@@ -1,11 +1,18 @@
 package ru.synergy.libraryapp.reminder;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface ReminderRepository extends JpaRepository<ReminderEntity, UUID> {
-    boolean existsByOrder_Id(UUID orderId);
-    List<ReminderEntity> findByDeliveredFalseOrderByRemindAtAsc();
+    @Query("""
+            select new ru.synergy.libraryapp.reminder.ReminderDto(r.id, o.id, b.title, u.email, r.remindAt, r.delivered,
+                    r.attempts, r.deadLetter, r.lastError)
+            from ReminderEntity r join r.order o join o.book b join o.user u
+            where r.delivered = false
+            order by r.remindAt asc
+            """)
+    List<ReminderDto> findPendingDtos();
 }
@@ -0,0 +1,122 @@
+package ru.synergy.libraryapp.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.synergy.libraryapp.scheduling.SchedulerLeases;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class ReminderRetention {
+    private static final String PURGE_BATCH_SQL = """
+            WITH batch AS (
+                SELECT id FROM reminders
+                WHERE delivered = TRUE
+                  AND delivered_at < ?
+                  AND (delivered_at, id) > (?, ?)
+                ORDER BY delivered_at, id
+                LIMIT ?
+            ),
+            deleted AS (
+                DELETE FROM reminders r
+                USING batch
+                WHERE r.id = batch.id
+                RETURNING r.id, r.order_id, r.remind_at, r.delivered, r.delivered_at, r.attempts,
+                          r.next_attempt_at, r.last_error, r.dead_letter, r.created_at
+            ),
+            archived AS (
+                INSERT INTO reminders_archive (id, order_id, remind_at, delivered, delivered_at, attempts,
+                                               next_attempt_at, last_error, dead_letter, created_at)
+                SELECT id, order_id, remind_at, delivered, delivered_at, attempts,
+                       next_attempt_at, last_error, dead_letter, created_at
+                FROM deleted
+            )
+            SELECT id, delivered_at FROM deleted
+            """;
+    private static final String JOB = "reminders.retention";
+    private static final OffsetDateTime START_AT = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+    private static final UUID START_ID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeases schedulerLeases;
+    private final Duration keepFor;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration lease;
+    private final Counter purged;
+    private final Timer batchTimer;
+
+    public ReminderRetention(JdbcTemplate jdbcTemplate,
+                             SchedulerLeases schedulerLeases,
+                             MeterRegistry meterRegistry,
+                             @Value("${library.reminders.retention.keep-delivered-for}") Duration keepFor,
+                             @Value("${library.reminders.retention.batch-size}") int batchSize,
+                             @Value("${library.reminders.retention.batch-pause}") Duration batchPause,
+                             @Value("${library.reminders.retention.lease}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLeases = schedulerLeases;
+        this.keepFor = keepFor;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.lease = lease;
+        this.purged = Counter.builder("library.reminders.purged")
+                .description("Delivered reminders moved to reminders_archive by the retention job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("library.reminders.purge.batch")
+                .description("Latency of a single reminder retention batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${library.reminders.retention.cron}")
+    public void purgeDelivered() {
+        schedulerLeases.runExclusively(JOB, lease, this::purge);
+    }
+
+    private void purge() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(keepFor);
+        PurgedKey last = new PurgedKey(START_ID, START_AT);
+        long total = 0;
+        List<PurgedKey> batch;
+        do {
+            PurgedKey after = last;
+            batch = batchTimer.record(() -> jdbcTemplate.query(PURGE_BATCH_SQL,
+                    (rs, rowNum) -> new PurgedKey(rs.getObject("id", UUID.class), rs.getObject("delivered_at", OffsetDateTime.class)),
+                    cutoff, after.deliveredAt(), after.id(), batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            purged.increment(batch.size());
+            total += batch.size();
+            last = batch.stream()
+                    .max(Comparator.comparing(PurgedKey::deliveredAt).thenComparing(PurgedKey::id))
+                    .orElseThrow();
+        } while (batch.size() == batchSize && pause() && schedulerLeases.extend(JOB, lease));
+        if (total > 0) {
+            log.info("Delivered reminders purged. count={}, cutoff={}", total, cutoff);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record PurgedKey(UUID id, OffsetDateTime deliveredAt) {
+    }
+}
@@ -1,63 +1,198 @@
 package ru.synergy.libraryapp.reminder;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.synergy.libraryapp.order.OrderEntity;
+import ru.synergy.libraryapp.outbox.OutboxWriter;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ReminderService {
+    private static final String SCHEDULE_SQL = """
+            INSERT INTO reminders (order_id, remind_at, next_attempt_at)
+            SELECT expiring.id, expiring.remind_at, expiring.remind_at
+            FROM (
+                SELECT o.id, GREATEST(o.end_date - make_interval(secs => ?), ?) AS remind_at
+                FROM orders o
+                WHERE o.status = 'ACTIVE'
+                  AND o.end_date BETWEEN ? AND ?
+            ) expiring
+            ON CONFLICT (order_id) DO NOTHING
+            RETURNING id, next_attempt_at
+            """;
+    private static final String UPCOMING_SQL = """
+            SELECT id, next_attempt_at FROM reminders
+            WHERE delivered = FALSE AND dead_letter = FALSE AND next_attempt_at <= ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            """;
+    private static final String CLAIM_DUE_SQL = """
+            WITH due AS (
+                SELECT r.id, u.email, b.title, o.end_date
+                FROM reminders r
+                JOIN orders o ON o.id = r.order_id
+                JOIN users u ON u.id = o.user_id
+                JOIN books b ON b.id = o.book_id
+                WHERE r.delivered = FALSE AND r.dead_letter = FALSE AND r.next_attempt_at <= ?
+                  AND o.status IN ('ACTIVE', 'OVERDUE')
+                ORDER BY r.next_attempt_at
+                LIMIT ?
+                FOR UPDATE OF r SKIP LOCKED
+            )
+            UPDATE reminders r
+            SET attempts = r.attempts + 1, next_attempt_at = ?
+            FROM due
+            WHERE r.id = due.id
+            RETURNING r.id, r.order_id, due.email, due.title, due.end_date, r.attempts
+            """;
+    private static final String DELIVERED_SQL = """
+            UPDATE reminders SET delivered = TRUE, delivered_at = NOW(), last_error = NULL
+            WHERE id = ANY(?)
+            """;
+    private static final String FAILED_SQL = """
+            UPDATE reminders SET next_attempt_at = ?, last_error = ?, dead_letter = ?
+            WHERE id = ?
+            """;
+    private static final String CANCEL_SQL = """
+            DELETE FROM reminders
+            WHERE order_id = ? AND delivered = FALSE
+            RETURNING id
+            """;
+    private static final String RELEASE_SQL = """
+            UPDATE reminders SET attempts = GREATEST(attempts - 1, 0), next_attempt_at = ?
+            WHERE id = ANY(?)
+            """;
+
     private final ReminderRepository reminderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxWriter outbox;
+    private final Duration claimTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public ReminderService(ReminderRepository reminderRepository,
+                           JdbcTemplate jdbcTemplate,
+                           OutboxWriter outbox,
+                           @Value("${library.reminders.claim-timeout}") Duration claimTimeout,
+                           @Value("${library.reminders.retry.max-attempts}") int maxAttempts,
+                           @Value("${library.reminders.retry.initial-backoff}") Duration initialBackoff,
+                           @Value("${library.reminders.retry.max-backoff}") Duration maxBackoff) {
+        this.reminderRepository = reminderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outbox = outbox;
+        this.claimTimeout = claimTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
 
     @Transactional
-    public void createReminderIfAbsent(OrderEntity order, OffsetDateTime remindAt) {
-        UUID orderId = order.getId();
-        if (reminderRepository.existsByOrder_Id(orderId)) {
-            return;
-        }
-        ReminderEntity reminder = new ReminderEntity();
-        reminder.setOrder(order);
-        reminder.setRemindAt(remindAt);
-        reminderRepository.save(reminder);
-        log.info("Reminder scheduled. orderId={}, remindAt={}", orderId, remindAt);
+    public List<ReminderWakeup> scheduleExpiring(OffsetDateTime now, OffsetDateTime windowEnd, Duration leadTime) {
+        List<ReminderWakeup> inserted = jdbcTemplate.query(SCHEDULE_SQL, this::toWakeup, leadTime.toSeconds(), now, now, windowEnd);
+        log.info("Reminders scheduled. inserted={}, windowEnd={}", inserted.size(), windowEnd);
+        return inserted;
     }
 
     @Transactional(readOnly = true)
-    public List<ReminderDto> pendingReminders() {
-        return reminderRepository.findByDeliveredFalseOrderByRemindAtAsc()
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public List<ReminderWakeup> upcomingWakeups(OffsetDateTime until, int limit) {
+        return jdbcTemplate.query(UPCOMING_SQL, this::toWakeup, until, limit);
     }
 
     @Transactional(readOnly = true)
-    public List<ReminderEntity> findDueReminders(OffsetDateTime now) {
-        return reminderRepository.findByDeliveredFalseOrderByRemindAtAsc()
-                .stream()
-                .filter(reminder -> !reminder.getRemindAt().isAfter(now))
-                .toList();
+    public List<ReminderDto> pendingReminders() {
+        return reminderRepository.findPendingDtos();
+    }
+
+    @Transactional
+    public List<ReminderMessage> claimDue(OffsetDateTime now, int chunkSize) {
+        return jdbcTemplate.query(CLAIM_DUE_SQL, (rs, rowNum) -> new ReminderMessage(
+                rs.getObject("id", UUID.class),
+                rs.getObject("order_id", UUID.class),
+                rs.getString("email"),
+                rs.getString("title"),
+                rs.getObject("end_date", OffsetDateTime.class),
+                rs.getInt("attempts")), now, chunkSize, now.plus(claimTimeout));
+    }
+
+    @Transactional
+    public List<UUID> cancelForOrder(UUID orderId) {
+        return jdbcTemplate.queryForList(CANCEL_SQL, UUID.class, orderId);
     }
 
     @Transactional
-    public void markDelivered(ReminderEntity reminder) {
-        reminder.setDelivered(true);
-    }
-
-    private ReminderDto toDto(ReminderEntity entity) {
-        return new ReminderDto(
-                entity.getId(),
-                entity.getOrder().getId(),
-                entity.getOrder().getBook().getTitle(),
-                entity.getOrder().getUser().getEmail(),
-                entity.getRemindAt(),
-                entity.isDelivered()
-        );
+    public List<ReminderWakeup> recordOutcomes(List<ReminderOutcome> outcomes, OffsetDateTime now) {
+        List<ReminderMessage> delivered = outcomes.stream()
+                .filter(ReminderOutcome::delivered)
+                .map(ReminderOutcome::message)
+                .toList();
+        List<ReminderOutcome> failed = outcomes.stream()
+                .filter(ReminderOutcome::failed)
+                .toList();
+        List<ReminderMessage> unattempted = outcomes.stream()
+                .filter(outcome -> !outcome.attempted())
+                .map(ReminderOutcome::message)
+                .toList();
+        if (!delivered.isEmpty()) {
+            UUID[] ids = delivered.stream().map(ReminderMessage::reminderId).toArray(UUID[]::new);
+            jdbcTemplate.update(DELIVERED_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+            outbox.appendAll("reminder", "ReminderDelivered", delivered.stream()
+                    .map(message -> new OutboxWriter.Entry(message.reminderId(), new ReminderDeliveredEvent(
+                            message.reminderId(), message.orderId(), message.userEmail(), message.bookTitle(), message.endDate())))
+                    .toList());
+        }
+        List<ReminderWakeup> retries = new ArrayList<>();
+        if (!unattempted.isEmpty()) {
+            UUID[] ids = unattempted.stream().map(ReminderMessage::reminderId).toArray(UUID[]::new);
+            jdbcTemplate.update(RELEASE_SQL, ps -> {
+                ps.setObject(1, now);
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids));
+            });
+            unattempted.forEach(message -> retries.add(new ReminderWakeup(message.reminderId(), now)));
+        }
+        List<FailedDelivery> failures = failed.stream()
+                .map(outcome -> new FailedDelivery(outcome.message().reminderId(), outcome.message().attempt(),
+                        now.plus(backoff(outcome.message().attempt())), outcome.error(),
+                        outcome.message().attempt() >= maxAttempts))
+                .toList();
+        if (!failures.isEmpty()) {
+            jdbcTemplate.batchUpdate(FAILED_SQL, failures, failures.size(), (ps, failure) -> {
+                ps.setObject(1, failure.nextAttemptAt());
+                ps.setString(2, failure.error());
+                ps.setBoolean(3, failure.deadLetter());
+                ps.setObject(4, failure.reminderId());
+            });
+        }
+        for (FailedDelivery failure : failures) {
+            if (failure.deadLetter()) {
+                log.warn("Reminder moved to dead letter. reminderId={}, attempts={}, error={}",
+                        failure.reminderId(), failure.attempt(), failure.error());
+            } else {
+                retries.add(new ReminderWakeup(failure.reminderId(), failure.nextAttemptAt()));
+            }
+        }
+        return retries;
+    }
+
+    private ReminderWakeup toWakeup(ResultSet rs, int rowNum) throws SQLException {
+        return new ReminderWakeup(rs.getObject("id", UUID.class), rs.getObject("next_attempt_at", OffsetDateTime.class));
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private record FailedDelivery(UUID reminderId, int attempt, OffsetDateTime nextAttemptAt, String error, boolean deadLetter) {
     }
 }
@@ -0,0 +1,124 @@
+package ru.synergy.libraryapp.reminder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.synergy.libraryapp.common.AfterCommit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class ReminderTimer {
+    private final ReminderService reminderService;
+    private final ReminderDispatcher reminderDispatcher;
+    private final int chunkSize;
+    private final Duration tick;
+    private final Duration horizon;
+    private final int maxEntries;
+    private final ReminderTimingWheel wheel;
+    private final AtomicBoolean deliveryRequested = new AtomicBoolean();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("reminder-wheel").daemon().factory());
+    private final ExecutorService deliveries = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("reminder-delivery").factory());
+
+    public ReminderTimer(ReminderService reminderService,
+                         ReminderDispatcher reminderDispatcher,
+                         @Value("${library.reminders.chunk-size}") int chunkSize,
+                         @Value("${library.reminders.wheel.tick}") Duration tick,
+                         @Value("${library.reminders.wheel.horizon}") Duration horizon,
+                         @Value("${library.reminders.wheel.max-entries}") int maxEntries) {
+        this.reminderService = reminderService;
+        this.reminderDispatcher = reminderDispatcher;
+        this.chunkSize = chunkSize;
+        this.tick = tick;
+        this.horizon = horizon;
+        this.maxEntries = maxEntries;
+        this.wheel = new ReminderTimingWheel(tick, ReminderTimingWheel.sizeFor(horizon, tick), Instant.now());
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleAtFixedRate(this::advance, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void schedule(Collection<ReminderWakeup> wakeups) {
+        Instant limit = Instant.now().plus(horizon);
+        for (ReminderWakeup wakeup : wakeups) {
+            Instant dueAt = wakeup.dueAt().toInstant();
+            if (!dueAt.isAfter(limit)) {
+                wheel.schedule(wakeup.reminderId(), dueAt);
+            }
+        }
+    }
+
+    public void cancelForOrder(UUID orderId) {
+        List<UUID> cancelled = reminderService.cancelForOrder(orderId);
+        if (!cancelled.isEmpty()) {
+            AfterCommit.run(() -> cancelled.forEach(wheel::cancel));
+            log.info("Pending reminder cancelled. orderId={}, reminderIds={}", orderId, cancelled);
+        }
+    }
+
+    public void loadHorizon() {
+        OffsetDateTime until = OffsetDateTime.now().plus(horizon);
+        List<ReminderWakeup> upcoming = reminderService.upcomingWakeups(until, maxEntries);
+        schedule(upcoming);
+        log.debug("Reminder wheel loaded. upcoming={}, scheduled={}, horizon={}", upcoming.size(), wheel.size(), horizon);
+    }
+
+    public void deliverDue() {
+        List<ReminderMessage> chunk;
+        do {
+            chunk = reminderService.claimDue(OffsetDateTime.now(), chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            chunk.forEach(message -> wheel.cancel(message.reminderId()));
+            List<ReminderOutcome> outcomes = reminderDispatcher.dispatch(chunk);
+            schedule(reminderService.recordOutcomes(outcomes, OffsetDateTime.now()));
+            long delivered = outcomes.stream().filter(ReminderOutcome::delivered).count();
+            long failed = outcomes.stream().filter(ReminderOutcome::failed).count();
+            log.info("Reminder chunk processed. claimed={}, delivered={}, failed={}, released={}",
+                    chunk.size(), delivered, failed, chunk.size() - delivered - failed);
+        } while (chunk.size() == chunkSize);
+    }
+
+    private void advance() {
+        try {
+            if (wheel.advance(Instant.now()) > 0 && deliveryRequested.compareAndSet(false, true)) {
+                deliveries.execute(this::deliverRequested);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Reminder wheel tick failed", ex);
+        }
+    }
+
+    private void deliverRequested() {
+        deliveryRequested.set(false);
+        try {
+            deliverDue();
+        } catch (RuntimeException ex) {
+            log.error("Reminder delivery from wheel failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        deliveries.shutdownNow();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.synergy.libraryapp.reminder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class ReminderTimingWheel {
+    private final long tickMillis;
+    private final Set<Slot>[] buckets;
+    private final int mask;
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ReminderTimingWheel(Duration tick, int wheelSize, Instant start) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tick.toMillis();
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new LinkedHashSet<>();
+        }
+        this.mask = wheelSize - 1;
+        this.currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    static int sizeFor(Duration horizon, Duration tick) {
+        long ticks = Math.ceilDiv(horizon.toMillis(), tick.toMillis()) + 1;
+        if (ticks > 1 << 30) {
+            throw new IllegalArgumentException("Wheel horizon is too long for its tick");
+        }
+        return Math.max(Integer.highestOneBit((int) ticks - 1) << 1, 2);
+    }
+
+    synchronized boolean schedule(UUID reminderId, Instant dueAt) {
+        cancel(reminderId);
+        long deadline = Math.max(Math.ceilDiv(dueAt.toEpochMilli(), tickMillis), currentTick + 1);
+        if (deadline - currentTick > mask) {
+            return false;
+        }
+        Slot slot = new Slot(reminderId, deadline);
+        buckets[(int) (deadline & mask)].add(slot);
+        slots.put(reminderId, slot);
+        return true;
+    }
+
+    synchronized void cancel(UUID reminderId) {
+        Slot slot = slots.remove(reminderId);
+        if (slot != null) {
+            buckets[(int) (slot.deadline() & mask)].remove(slot);
+        }
+    }
+
+    synchronized int advance(Instant now) {
+        long target = now.toEpochMilli() / tickMillis;
+        long from = Math.max(currentTick + 1, target - mask);
+        int expired = 0;
+        for (long tick = from; tick <= target; tick++) {
+            Iterator<Slot> iterator = buckets[(int) (tick & mask)].iterator();
+            while (iterator.hasNext()) {
+                Slot slot = iterator.next();
+                if (slot.deadline() <= target) {
+                    iterator.remove();
+                    slots.remove(slot.reminderId());
+                    expired++;
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, target);
+        return expired;
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    private record Slot(UUID reminderId, long deadline) {
+    }
+}
@@ -0,0 +1,7 @@
+package ru.synergy.libraryapp.reminder;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ReminderWakeup(UUID reminderId, OffsetDateTime dueAt) {
+}
@@ -0,0 +1,48 @@
+package ru.synergy.libraryapp.reminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+
+@Component
+@ConditionalOnProperty(name = "library.reminders.channel", havingValue = "smtp")
+public class SmtpReminderChannel implements ReminderChannel {
+    private static final DateTimeFormatter END_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int maxConcurrency;
+
+    public SmtpReminderChannel(JavaMailSender mailSender,
+                               @Value("${library.reminders.smtp.from}") String from,
+                               @Value("${library.reminders.smtp.max-concurrency}") int maxConcurrency) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void send(ReminderMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.userEmail());
+        mail.setSubject("Срок аренды книги «" + message.bookTitle() + "» скоро истекает");
+        mail.setText("Здравствуйте!\n\nСрок аренды книги «" + message.bookTitle() + "» истекает "
+                + message.endDate().format(END_DATE_FORMAT) + ". Продлите аренду или верните книгу вовремя.\n\nЭлектронная библиотека");
+        mailSender.send(mail);
+    }
+}
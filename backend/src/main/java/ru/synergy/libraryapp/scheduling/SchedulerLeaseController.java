@@ -0,0 +1,23 @@
+package ru.synergy.libraryapp.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/scheduler")
+@RequiredArgsConstructor
+public class SchedulerLeaseController {
+    private final SchedulerLeases schedulerLeases;
+
+    @GetMapping("/leases")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SchedulerLeaseDto>> leases() {
+        return ResponseEntity.ok(schedulerLeases.leases());
+    }
+}
@@ -0,0 +1,12 @@
+package ru.synergy.libraryapp.scheduling;
+
+import java.time.OffsetDateTime;
+
+public record SchedulerLeaseDto(
+        String name,
+        String lockedBy,
+        OffsetDateTime lockedAt,
+        OffsetDateTime lockUntil,
+        boolean held
+) {
+}
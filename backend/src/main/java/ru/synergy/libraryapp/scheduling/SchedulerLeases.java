@@ -0,0 +1,92 @@
+package ru.synergy.libraryapp.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class SchedulerLeases {
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO scheduler_leases (name, locked_by, locked_at, lock_until)
+            VALUES (?, ?, clock_timestamp(), clock_timestamp() + make_interval(secs => ?))
+            ON CONFLICT (name) DO UPDATE SET
+                locked_by = EXCLUDED.locked_by,
+                locked_at = EXCLUDED.locked_at,
+                lock_until = EXCLUDED.lock_until
+            WHERE scheduler_leases.lock_until <= clock_timestamp()
+               OR scheduler_leases.locked_by = EXCLUDED.locked_by
+            """;
+    private static final String RELEASE_SQL = """
+            UPDATE scheduler_leases
+            SET lock_until = GREATEST(locked_at + make_interval(secs => ?), clock_timestamp())
+            WHERE name = ? AND locked_by = ?
+            """;
+    private static final String EXTEND_SQL = """
+            UPDATE scheduler_leases
+            SET lock_until = clock_timestamp() + make_interval(secs => ?)
+            WHERE name = ? AND locked_by = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration minHold;
+
+    public SchedulerLeases(JdbcTemplate jdbcTemplate,
+                           @Value("${library.scheduling.node-id}") String nodeId,
+                           @Value("${library.scheduling.min-hold}") Duration minHold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+        this.minHold = minHold;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean runExclusively(String name, Duration atMostFor, Runnable task) {
+        if (jdbcTemplate.update(ACQUIRE_SQL, name, nodeId, seconds(atMostFor)) == 0) {
+            log.debug("Scheduler lease held elsewhere, skipping. job={}", name);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            jdbcTemplate.update(RELEASE_SQL, seconds(minHold), name, nodeId);
+        }
+        return true;
+    }
+
+    public boolean extend(String name, Duration atMostFor) {
+        if (jdbcTemplate.update(EXTEND_SQL, seconds(atMostFor), name, nodeId) == 0) {
+            log.warn("Scheduler lease taken over by another node, stopping. job={}", name);
+            return false;
+        }
+        return true;
+    }
+
+    public List<SchedulerLeaseDto> leases() {
+        return jdbcTemplate.query("""
+                SELECT name, locked_by, locked_at, lock_until, lock_until > clock_timestamp() AS held
+                FROM scheduler_leases ORDER BY name
+                """, (rs, rowNum) -> new SchedulerLeaseDto(
+                rs.getString("name"),
+                rs.getString("locked_by"),
+                rs.getObject("locked_at", OffsetDateTime.class),
+                rs.getObject("lock_until", OffsetDateTime.class),
+                rs.getBoolean("held")));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
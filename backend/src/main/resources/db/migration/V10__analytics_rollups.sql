@@ -0,0 +1,35 @@
+CREATE TABLE revenue_daily (
+    day DATE NOT NULL,
+    order_type VARCHAR(30) NOT NULL,
+    category VARCHAR(80) NOT NULL,
+    orders_count BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, order_type, category)
+);
+
+CREATE TABLE book_utilization (
+    book_id UUID PRIMARY KEY REFERENCES books(id) ON DELETE CASCADE,
+    rentals_count BIGINT NOT NULL DEFAULT 0,
+    purchases_count BIGINT NOT NULL DEFAULT 0,
+    active_rentals BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+    last_ordered_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_book_utilization_rentals ON book_utilization (rentals_count DESC, book_id);
+
+INSERT INTO revenue_daily (day, order_type, category, orders_count, revenue)
+SELECT (o.created_at AT TIME ZONE 'UTC')::date, o.type, b.category, COUNT(*), SUM(o.price)
+FROM orders o
+JOIN books b ON b.id = o.book_id
+GROUP BY 1, 2, 3;
+
+INSERT INTO book_utilization (book_id, rentals_count, purchases_count, active_rentals, revenue, last_ordered_at)
+SELECT o.book_id,
+       COUNT(*) FILTER (WHERE o.type <> 'PURCHASE'),
+       COUNT(*) FILTER (WHERE o.type = 'PURCHASE'),
+       COUNT(*) FILTER (WHERE o.type <> 'PURCHASE' AND o.status IN ('ACTIVE', 'OVERDUE')),
+       SUM(o.price),
+       MAX(o.created_at)
+FROM orders o
+GROUP BY o.book_id;
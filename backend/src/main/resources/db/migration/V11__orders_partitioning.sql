@@ -0,0 +1,41 @@
+CREATE TABLE orders_archive (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    book_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    copy_id UUID REFERENCES book_copies(id),
+    type VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    price NUMERIC(10,2) NOT NULL,
+    start_date TIMESTAMPTZ NOT NULL,
+    end_date TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE orders_archive_default PARTITION OF orders_archive DEFAULT;
+
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR i IN 0..1 LOOP
+        month := (date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders_archive FOR VALUES FROM (%L) TO (%L)',
+                       'orders_archive_' || to_char(month, '"y"YYYY"m"MM'),
+                       month || ' 00:00:00+00',
+                       (month + INTERVAL '1 month')::date || ' 00:00:00+00');
+    END LOOP;
+END $$;
+
+CREATE INDEX idx_orders_archive_created_id ON orders_archive (created_at DESC, id DESC);
+CREATE INDEX idx_orders_archive_user_created_id ON orders_archive (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_archive_book_created_id ON orders_archive (book_id, created_at DESC, id DESC);
+
+CREATE VIEW order_history AS
+SELECT id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at, updated_at, FALSE AS archived
+FROM orders
+UNION ALL
+SELECT id, user_id, book_id, copy_id, type, status, price, start_date, end_date, created_at, updated_at, TRUE AS archived
+FROM orders_archive;
@@ -0,0 +1,8 @@
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(40) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(60) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,5 @@
+ALTER TABLE reminders ADD COLUMN delivered_at TIMESTAMPTZ;
+
+UPDATE reminders SET delivered_at = remind_at WHERE delivered = TRUE;
+
+CREATE INDEX idx_reminders_due ON reminders (remind_at) WHERE delivered = FALSE;
@@ -0,0 +1,6 @@
+CREATE TABLE scheduler_leases (
+    name VARCHAR(80) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMPTZ NOT NULL,
+    lock_until TIMESTAMPTZ NOT NULL
+);
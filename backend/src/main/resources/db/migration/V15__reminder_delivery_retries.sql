@@ -0,0 +1,13 @@
+ALTER TABLE reminders
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at TIMESTAMPTZ,
+    ADD COLUMN last_error TEXT,
+    ADD COLUMN dead_letter BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE reminders SET next_attempt_at = remind_at;
+
+ALTER TABLE reminders ALTER COLUMN next_attempt_at SET NOT NULL;
+
+DROP INDEX idx_reminders_due;
+
+CREATE INDEX idx_reminders_due ON reminders (next_attempt_at) WHERE delivered = FALSE AND dead_letter = FALSE;
@@ -0,0 +1 @@
+CREATE INDEX idx_reminders_delivered_at ON reminders (delivered_at, id) WHERE delivered = TRUE;
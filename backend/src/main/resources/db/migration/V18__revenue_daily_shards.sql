@@ -0,0 +1,5 @@
+ALTER TABLE revenue_daily ADD COLUMN shard SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE revenue_daily DROP CONSTRAINT revenue_daily_pkey;
+
+ALTER TABLE revenue_daily ADD PRIMARY KEY (day, order_type, category, shard);
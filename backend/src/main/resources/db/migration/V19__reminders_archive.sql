@@ -0,0 +1,16 @@
+CREATE TABLE reminders_archive (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    remind_at TIMESTAMPTZ NOT NULL,
+    delivered BOOLEAN NOT NULL,
+    delivered_at TIMESTAMPTZ,
+    attempts INT NOT NULL,
+    next_attempt_at TIMESTAMPTZ NOT NULL,
+    last_error TEXT,
+    dead_letter BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_reminders_archive_order ON reminders_archive (order_id);
+CREATE INDEX idx_reminders_archive_delivered_at ON reminders_archive (delivered_at);
@@ -0,0 +1,6 @@
+CREATE TABLE catalog_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    generation BIGINT NOT NULL
+);
+
+INSERT INTO catalog_state (id, generation) VALUES (1, 0);
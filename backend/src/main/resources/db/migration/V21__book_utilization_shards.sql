@@ -0,0 +1,15 @@
+ALTER TABLE book_utilization ADD COLUMN shard SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE book_utilization DROP CONSTRAINT book_utilization_pkey;
+
+ALTER TABLE book_utilization ADD PRIMARY KEY (book_id, shard);
+
+DROP INDEX IF EXISTS idx_book_utilization_rentals;
+
+WITH merged AS (
+    DELETE FROM revenue_daily RETURNING *
+)
+INSERT INTO revenue_daily (day, order_type, category, shard, orders_count, revenue)
+SELECT day, order_type, lower(btrim(category)), shard, SUM(orders_count), SUM(revenue)
+FROM merged
+GROUP BY day, order_type, lower(btrim(category)), shard;
@@ -0,0 +1,10 @@
+DROP INDEX IF EXISTS idx_books_category;
+DROP INDEX IF EXISTS idx_books_author;
+DROP INDEX IF EXISTS idx_books_status;
+
+CREATE INDEX idx_books_title_id ON books (title, id);
+CREATE INDEX idx_books_status_title_id ON books (status, title, id);
+CREATE INDEX idx_books_status_author_title_id ON books (status, author, title, id);
+CREATE INDEX idx_books_status_year_title_id ON books (status, year DESC, title DESC, id DESC);
+CREATE INDEX idx_books_category_status_title_id ON books (LOWER(category), status, title, id);
+CREATE INDEX idx_books_author_status_title_id ON books (LOWER(author), status, title, id);
@@ -0,0 +1,29 @@
+CREATE TABLE book_copies (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    book_id UUID NOT NULL REFERENCES books(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_book_copies_book_status ON book_copies (book_id, status);
+
+ALTER TABLE orders ADD COLUMN copy_id UUID;
+
+UPDATE orders
+SET copy_id = gen_random_uuid()
+WHERE type <> 'PURCHASE'
+  AND status IN ('ACTIVE', 'OVERDUE');
+
+INSERT INTO book_copies (id, book_id, status)
+SELECT o.copy_id, o.book_id, 'ON_LOAN'
+FROM orders o
+WHERE o.copy_id IS NOT NULL;
+
+INSERT INTO book_copies (book_id, status)
+SELECT b.id, 'AVAILABLE'
+FROM books b
+WHERE NOT EXISTS (SELECT 1 FROM book_copies c WHERE c.book_id = b.id);
+
+ALTER TABLE orders
+    ADD CONSTRAINT orders_copy_id_fkey FOREIGN KEY (copy_id) REFERENCES book_copies(id);
@@ -0,0 +1 @@
+CREATE INDEX idx_orders_active_end_date ON orders (end_date) WHERE status = 'ACTIVE';
@@ -0,0 +1,8 @@
+DROP INDEX IF EXISTS idx_orders_user;
+DROP INDEX IF EXISTS idx_orders_status;
+
+CREATE INDEX idx_orders_created_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_user_created_id ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created_id ON orders (status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_book_created_id ON orders (book_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_type_status_created_id ON orders (type, status, created_at DESC, id DESC);
@@ -0,0 +1,35 @@
+package ru.synergy.libraryapp;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public abstract class PostgresIntegrationTest {
+    private static final String EXTERNAL_URL = System.getProperty("test.postgres.url", "");
+    private static final PostgreSQLContainer<?> POSTGRES = EXTERNAL_URL.isBlank() ? new PostgreSQLContainer<>("postgres:16") : null;
+
+    static {
+        if (POSTGRES != null) {
+            POSTGRES.start();
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresIntegrationTest::jdbcUrl);
+        registry.add("spring.datasource.username", PostgresIntegrationTest::username);
+        registry.add("spring.datasource.password", PostgresIntegrationTest::password);
+    }
+
+    protected static String jdbcUrl() {
+        return POSTGRES != null ? POSTGRES.getJdbcUrl() : EXTERNAL_URL;
+    }
+
+    protected static String username() {
+        return POSTGRES != null ? POSTGRES.getUsername() : System.getProperty("test.postgres.username", "postgres");
+    }
+
+    protected static String password() {
+        return POSTGRES != null ? POSTGRES.getPassword() : System.getProperty("test.postgres.password", "");
+    }
+}
@@ -0,0 +1,107 @@
+package ru.synergy.libraryapp;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.synergy.libraryapp.book.BookDetailsDto;
+import ru.synergy.libraryapp.book.BookRequest;
+import ru.synergy.libraryapp.book.BookService;
+import ru.synergy.libraryapp.order.CreateOrderRequest;
+import ru.synergy.libraryapp.order.OrderFilter;
+import ru.synergy.libraryapp.order.OrderPageDto;
+import ru.synergy.libraryapp.order.OrderService;
+import ru.synergy.libraryapp.order.OrderType;
+import ru.synergy.libraryapp.reminder.ReminderDto;
+import ru.synergy.libraryapp.reminder.ReminderService;
+import ru.synergy.libraryapp.user.UserRole;
+import ru.synergy.libraryapp.user.UserService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReadStatementCountTest extends PostgresIntegrationTest {
+    private static final int USERS = 3;
+    private static final int BOOKS = 4;
+    private static final OrderFilter NO_FILTER = new OrderFilter(null, null, null, null, null, null);
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID reader;
+
+    @BeforeEach
+    void seedOrders() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<BookDetailsDto> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(bookService.create(new BookRequest(
+                    "Statements " + run + " " + i, "Author " + i, "Tests", 2020 + i, null, null,
+                    new BigDecimal("500.00"), new BigDecimal("50.00"), new BigDecimal("90.00"), new BigDecimal("200.00"),
+                    USERS)));
+        }
+        for (int u = 0; u < USERS; u++) {
+            UUID userId = userService.registerUser("reader-" + run + "-" + u, "reader-" + run + "-" + u + "@example.com",
+                    "password", UserRole.USER).id();
+            for (BookDetailsDto book : books) {
+                orderService.createOrder(userId, new CreateOrderRequest(book.id(), OrderType.RENT_TWO_WEEKS));
+            }
+            reader = userId;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        reminderService.scheduleExpiring(now, now.plusDays(30), Duration.ofDays(1));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userOrderHistoryIsOneStatement() {
+        OrderPageDto page = orderService.userOrders(reader, NO_FILTER, null, 20);
+
+        assertEquals(BOOKS, page.items().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminOrderListIsOneStatement() {
+        OrderPageDto page = orderService.adminOrders(NO_FILTER, null, 20);
+
+        assertTrue(page.items().size() >= USERS * BOOKS);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void pendingRemindersAreOneStatement() {
+        List<ReminderDto> reminders = reminderService.pendingReminders();
+
+        assertTrue(reminders.size() >= USERS * BOOKS);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.synergy.libraryapp.book;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.synergy.libraryapp.PostgresIntegrationTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CatalogFacetsConsistencyTest extends PostgresIntegrationTest {
+    private static final String QUERY = "созвездие";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogFacets catalogFacets;
+
+    private String category;
+    private String author;
+
+    @BeforeEach
+    void seedBooks() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        category = "Фасеты " + run;
+        author = "Автор " + run;
+        String[] categories = {category, category.toUpperCase(), "Проза " + run};
+        String[] authors = {author, "Другой автор " + run};
+        String[] titles = {"Созвездие", "Трактат"};
+        BookStatus[] statuses = BookStatus.values();
+        int index = 0;
+        for (String bookCategory : categories) {
+            for (String bookAuthor : authors) {
+                for (String title : titles) {
+                    for (int year = 1901; year <= 1902; year++) {
+                        BookDetailsDto book = bookService.create(new BookRequest(
+                                title + " " + run + " " + index, bookAuthor, bookCategory, year, null, null,
+                                new BigDecimal("500.00"), null, null, null, 1));
+                        BookStatus status = statuses[index % statuses.length];
+                        if (status != BookStatus.AVAILABLE) {
+                            bookService.changeStatus(book.id(), status);
+                        }
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void facetTotalsMatchCatalogTotalsForEveryFilter() {
+        for (BookFilter filter : filters()) {
+            assertConsistent(filter);
+        }
+    }
+
+    @Test
+    void inMemoryUnfilteredFacetsMatchCatalogTotals() {
+        catalogCache.syncGeneration();
+        catalogFacets.rebuild();
+
+        assertConsistent(new BookFilter(null, null, null, null, null, null, false).normalized());
+        assertConsistent(new BookFilter(null, null, null, null, null, null, true).normalized());
+    }
+
+    private List<BookFilter> filters() {
+        List<BookFilter> filters = new ArrayList<>();
+        List<BookStatus> adminStatuses = new ArrayList<>(Arrays.asList(BookStatus.values()));
+        adminStatuses.add(null);
+        for (String filterCategory : Arrays.asList(null, category)) {
+            for (String filterAuthor : Arrays.asList(null, author.toUpperCase())) {
+                for (Integer year : Arrays.asList(null, 1901)) {
+                    for (String query : Arrays.asList(null, QUERY)) {
+                        filters.add(new BookFilter(filterCategory, filterAuthor, year, query, null, null, false).normalized());
+                        for (BookStatus status : adminStatuses) {
+                            filters.add(new BookFilter(filterCategory, filterAuthor, year, query, null, status, true).normalized());
+                        }
+                    }
+                }
+            }
+        }
+        return filters;
+    }
+
+    private void assertConsistent(BookFilter filter) {
+        long total = bookService.findBooks(filter, 0, 1).totalElements();
+        BookFacetsDto facets = bookService.facets(filter);
+
+        assertEquals(total, sum(facets.categories()), () -> "categories for " + filter);
+        assertEquals(total, sum(facets.authors()), () -> "authors for " + filter);
+        assertEquals(total, sum(facets.years()), () -> "years for " + filter);
+        if (filter.includeInactive()) {
+            assertEquals(total, sum(facets.statuses()), () -> "statuses for " + filter);
+        } else {
+            assertNull(facets.statuses(), () -> "statuses for " + filter);
+        }
+    }
+
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
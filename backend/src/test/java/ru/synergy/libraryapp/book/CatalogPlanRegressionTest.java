@@ -0,0 +1,225 @@
+package ru.synergy.libraryapp.book;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.synergy.libraryapp.PostgresIntegrationTest;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(StatementCapture.class)
+@EnabledIfSystemProperty(named = "plan-check", matches = "true")
+class CatalogPlanRegressionTest extends PostgresIntegrationTest {
+    private static final String SEED_SQL = """
+            INSERT INTO books (title, author, category, year, description, cover_url,
+                               purchase_price, rent_two_weeks_price, rent_one_month_price, rent_three_months_price, status)
+            SELECT 'Synthetic title ' || n,
+                   'Author ' || (n % 5000),
+                   'Category ' || (n % 40),
+                   1900 + (n % 125),
+                   'Synthetic description keyword' || (n % 1000) || ' for plan checks',
+                   NULL,
+                   10 + (n % 50), 2 + (n % 5), 3 + (n % 7), 6 + (n % 9),
+                   CASE WHEN n % 10 = 0 THEN 'UNAVAILABLE' WHEN n % 25 = 0 THEN 'ARCHIVED' ELSE 'AVAILABLE' END
+            FROM generate_series(?, ?) AS n
+            ON CONFLICT ON CONSTRAINT uq_books_title_author DO NOTHING
+            """;
+    private static final String[] SORTS = {"title", "author", "year", "relevance"};
+    private static final int CATALOG_SIZE = Integer.getInteger("plan-check.catalog-size", 500_000);
+    private static final String RECORD_BASELINE = System.getProperty("plan-check.record-baseline", "");
+    private static final double MIN_MILLIS_BOUND = 25;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void catalogQueriesStayWithinRecordedPlanBaselines() throws Exception {
+        seedCatalog();
+        Properties thresholds = loadThresholds();
+        Map<String, Measurement> measurements = new TreeMap<>();
+        for (PlanCase planCase : planCases()) {
+            measure(planCase, measurements);
+        }
+
+        if (!RECORD_BASELINE.isBlank()) {
+            writeBaseline(measurements);
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        measurements.forEach((key, measurement) -> {
+            String stored = thresholds.getProperty(key);
+            if (stored == null) {
+                failures.add(key + " has no recorded baseline");
+                return;
+            }
+            String[] parts = stored.split(";");
+            double maxCost = Double.parseDouble(parts[0]);
+            double maxMillis = Double.parseDouble(parts[1]);
+            if (measurement.cost() > maxCost || measurement.millis() > maxMillis) {
+                failures.add(String.format("%s cost=%.1f (max %.1f) time=%.2fms (max %.2fms)%n%s",
+                        key, measurement.cost(), maxCost, measurement.millis(), maxMillis, measurement.plan()));
+            }
+        });
+        assertTrue(failures.isEmpty(), () -> "Catalog plan regressions:\n" + String.join("\n", failures));
+    }
+
+    private void seedCatalog() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        if (existing == null || existing >= CATALOG_SIZE) {
+            return;
+        }
+        int chunk = 50_000;
+        for (int from = 1; from <= CATALOG_SIZE; from += chunk) {
+            jdbcTemplate.update(SEED_SQL, from, Math.min(from + chunk - 1, CATALOG_SIZE));
+        }
+        jdbcTemplate.update("""
+                INSERT INTO book_copies (book_id, status)
+                SELECT b.id, CASE WHEN random() < 0.2 THEN 'ON_LOAN' ELSE 'AVAILABLE' END
+                FROM books b CROSS JOIN generate_series(1, 3)
+                WHERE NOT EXISTS (SELECT 1 FROM book_copies c WHERE c.book_id = b.id)
+                """);
+        jdbcTemplate.execute("ANALYZE books");
+        jdbcTemplate.execute("ANALYZE book_copies");
+    }
+
+    private List<PlanCase> planCases() {
+        List<PlanCase> cases = new ArrayList<>();
+        String[][] audiences = {{"anonymous", null}, {"admin", null}, {"admin", "UNAVAILABLE"}};
+        for (int mask = 0; mask < 16; mask++) {
+            for (String[] audience : audiences) {
+                for (String sort : SORTS) {
+                    boolean hasQuery = (mask & 8) != 0;
+                    if (sort.equals("relevance") && !hasQuery) {
+                        continue;
+                    }
+                    BookFilter filter = new BookFilter(
+                            (mask & 1) != 0 ? "Category 7" : null,
+                            (mask & 2) != 0 ? "Author 42" : null,
+                            (mask & 4) != 0 ? 1950 : null,
+                            hasQuery ? "keyword17" : null,
+                            sort,
+                            audience[1] != null ? BookStatus.valueOf(audience[1]) : null,
+                            audience[0].equals("admin")
+                    ).normalized();
+                    String name = audience[0] + (audience[1] != null ? "-" + audience[1].toLowerCase() : "")
+                            + "." + describeFilters(mask) + ".sort-" + sort;
+                    cases.add(new PlanCase(name + ".offset", filter, false));
+                    if (!sort.equals("relevance")) {
+                        cases.add(new PlanCase(name + ".scroll", filter, true));
+                    }
+                }
+            }
+        }
+        return cases;
+    }
+
+    private String describeFilters(int mask) {
+        List<String> parts = new ArrayList<>();
+        if ((mask & 1) != 0) {
+            parts.add("category");
+        }
+        if ((mask & 2) != 0) {
+            parts.add("author");
+        }
+        if ((mask & 4) != 0) {
+            parts.add("year");
+        }
+        if ((mask & 8) != 0) {
+            parts.add("q");
+        }
+        return parts.isEmpty() ? "unfiltered" : String.join("+", parts);
+    }
+
+    private void measure(PlanCase planCase, Map<String, Measurement> measurements) throws SQLException, IOException {
+        List<StatementCapture.CapturedStatement> statements;
+        if (planCase.scroll()) {
+            BookCursorPageDto first = bookService.scrollBooks(planCase.filter(), null, 20);
+            if (first.nextCursor() == null) {
+                return;
+            }
+            statements = StatementCapture.capture(() -> bookService.scrollBooks(planCase.filter(), first.nextCursor(), 20));
+        } else {
+            statements = StatementCapture.capture(() -> bookService.findBooks(planCase.filter(), 0, 20));
+        }
+        for (int i = 0; i < statements.size(); i++) {
+            measurements.put(planCase.name() + "." + i, explain(statements.get(i)));
+        }
+    }
+
+    private Measurement explain(StatementCapture.CapturedStatement statement) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+            statement.bindTo(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                String json = rs.getString(1);
+                JsonNode root = objectMapper.readTree(json).get(0);
+                double cost = root.path("Plan").path("Total Cost").asDouble();
+                double millis = root.path("Execution Time").asDouble();
+                return new Measurement(cost, millis, json);
+            }
+        }
+    }
+
+    private Properties loadThresholds() throws IOException {
+        Properties thresholds = new Properties();
+        ClassPathResource resource = new ClassPathResource("plan-check/thresholds.properties");
+        if (resource.exists()) {
+            try (InputStream input = resource.getInputStream()) {
+                thresholds.load(input);
+            }
+        }
+        return thresholds;
+    }
+
+    private void writeBaseline(Map<String, Measurement> measurements) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(Path.of(RECORD_BASELINE), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Measurement> entry : measurements.entrySet()) {
+                Measurement measurement = entry.getValue();
+                writer.write(String.format(Locale.ROOT, "%s=%.1f;%.2f%n",
+                        entry.getKey(), measurement.cost() * 1.5, Math.max(measurement.millis() * 3, MIN_MILLIS_BOUND)));
+            }
+        }
+    }
+
+    private record PlanCase(String name, BookFilter filter, boolean scroll) {
+    }
+
+    private record Measurement(double cost, double millis, String plan) {
+    }
+}
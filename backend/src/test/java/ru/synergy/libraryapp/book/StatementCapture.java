@@ -0,0 +1,118 @@
+package ru.synergy.libraryapp.book;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class StatementCapture implements BeanPostProcessor {
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    public static List<CapturedStatement> capture(Runnable action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args) -> {
+                Object result = method.invoke(dataSource, args);
+                if (result instanceof Connection connection) {
+                    return proxyConnection(connection);
+                }
+                return result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = method.invoke(connection, args);
+            if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                return proxyStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement proxyStatement(PreparedStatement statement, String sql) {
+        Map<Integer, BoundParameter> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, bind(name, args));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                List<CapturedStatement> captured = CAPTURED.get();
+                if (captured != null) {
+                    captured.add(new CapturedStatement(sql, List.copyOf(parameters.values())));
+                }
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    private BoundParameter bind(String method, Object[] args) {
+        if (method.equals("setNull")) {
+            return new BoundParameter(null, (Integer) args[1]);
+        }
+        if (method.equals("setObject") && args.length >= 3 && args[2] instanceof Integer sqlType) {
+            return new BoundParameter(args[1], sqlType);
+        }
+        return new BoundParameter(args[1], null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invocation.invoke(method, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    public record CapturedStatement(String sql, List<BoundParameter> parameters) {
+        public void bindTo(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < parameters.size(); i++) {
+                BoundParameter parameter = parameters.get(i);
+                if (parameter.sqlType() == null) {
+                    statement.setObject(i + 1, parameter.value());
+                } else if (parameter.value() == null) {
+                    statement.setNull(i + 1, parameter.sqlType());
+                } else {
+                    statement.setObject(i + 1, parameter.value(), parameter.sqlType());
+                }
+            }
+        }
+    }
+
+    public record BoundParameter(Object value, Integer sqlType) {
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,161 @@
+package ru.synergy.libraryapp.order;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.synergy.libraryapp.PostgresIntegrationTest;
+import ru.synergy.libraryapp.book.BookDetailsDto;
+import ru.synergy.libraryapp.book.BookRequest;
+import ru.synergy.libraryapp.book.BookService;
+import ru.synergy.libraryapp.book.BookUnavailableException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"logging.level.org.hibernate.SQL=INFO", "logging.level.org.hibernate.orm.jdbc.bind=INFO"})
+class OrderCheckoutConcurrencyTest extends PostgresIntegrationTest {
+    private static final int COPIES = 20;
+    private static final int BUYERS = 400;
+    private static final int WARM_UP_CHECKOUTS = 100;
+    private static final int RETURNS = 16;
+    private static final Duration MAX_P99 = Duration.ofSeconds(5);
+    private static final String INSERT_BUYERS_SQL = """
+            INSERT INTO users (username, email, password_hash, role)
+            SELECT 'buyer-' || ? || '-' || n, 'buyer-' || ? || '-' || n || '@example.com', 'not-a-hash', 'USER'
+            FROM generate_series(1, ?) AS n
+            RETURNING id
+            """;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentCheckoutsClaimEachCopyExactlyOnce() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<UUID> buyers = jdbcTemplate.queryForList(INSERT_BUYERS_SQL, UUID.class, run, run, BUYERS);
+        warmUp(run, buyers);
+        BookDetailsDto book = createBook("Concurrency " + run, COPIES);
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UUID buyer : buyers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long began = System.nanoTime();
+                    try {
+                        orderService.createOrder(buyer, new CreateOrderRequest(book.id(), OrderType.RENT_TWO_WEEKS));
+                        succeeded.incrementAndGet();
+                    } catch (BookUnavailableException ex) {
+                        rejected.incrementAndGet();
+                    } finally {
+                        latencies.add(System.nanoTime() - began);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+
+        assertEquals(COPIES, succeeded.get());
+        assertEquals(BUYERS - COPIES, rejected.get());
+        assertEquals(COPIES, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT copy_id) FROM orders WHERE book_id = ?", Integer.class, book.id()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book_copies WHERE book_id = ? AND status = 'AVAILABLE'", Integer.class, book.id()));
+        assertEquals("AVAILABLE", jdbcTemplate.queryForObject(
+                "SELECT status FROM books WHERE id = ?", String.class, book.id()));
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = percentile(sorted, 0.99);
+        assertTrue(p99 <= MAX_P99.toNanos(), () -> "Checkout p99 " + TimeUnit.NANOSECONDS.toMillis(p99)
+                + "ms exceeds " + MAX_P99.toMillis() + "ms for " + BUYERS + " concurrent buyers");
+    }
+
+    @Test
+    void concurrentReturnsCompleteARentalOnce() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        UUID buyer = jdbcTemplate.queryForList(INSERT_BUYERS_SQL, UUID.class, run, run, 1).get(0);
+        BookDetailsDto book = createBook("Return " + run, 1);
+        OrderDto order = orderService.createOrder(buyer, new CreateOrderRequest(book.id(), OrderType.RENT_TWO_WEEKS));
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger returned = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < RETURNS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.returnOrder(order.id());
+                        returned.incrementAndGet();
+                    } catch (IllegalArgumentException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+
+        assertEquals(1, returned.get());
+        assertEquals(RETURNS - 1, rejected.get());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book_copies WHERE book_id = ? AND status = 'AVAILABLE'", Integer.class, book.id()));
+    }
+
+    private void warmUp(String run, List<UUID> buyers) {
+        BookDetailsDto book = createBook("Warm-up " + run, WARM_UP_CHECKOUTS / 2);
+        for (UUID buyer : buyers.subList(0, WARM_UP_CHECKOUTS)) {
+            try {
+                orderService.createOrder(buyer, new CreateOrderRequest(book.id(), OrderType.RENT_TWO_WEEKS));
+            } catch (BookUnavailableException ignored) {
+            }
+        }
+    }
+
+    private BookDetailsDto createBook(String title, int copies) {
+        return bookService.create(new BookRequest(
+                title, "Benchmark", "Tests", 2024, null, null,
+                new BigDecimal("500.00"), new BigDecimal("50.00"), new BigDecimal("90.00"), new BigDecimal("200.00"),
+                copies));
+    }
+
+    private long percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.synergy.libraryapp.reminder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.synergy.libraryapp.PostgresIntegrationTest;
+import ru.synergy.libraryapp.book.BookDetailsDto;
+import ru.synergy.libraryapp.book.BookRequest;
+import ru.synergy.libraryapp.book.BookService;
+import ru.synergy.libraryapp.order.CreateOrderRequest;
+import ru.synergy.libraryapp.order.OrderDto;
+import ru.synergy.libraryapp.order.OrderService;
+import ru.synergy.libraryapp.order.OrderType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReminderCancellationTest extends PostgresIntegrationTest {
+    private static final String INSERT_READER_SQL = """
+            INSERT INTO users (username, email, password_hash, role)
+            VALUES ('reader-' || ?, 'reader-' || ? || '@example.com', 'not-a-hash', 'USER')
+            RETURNING id
+            """;
+    private static final String PENDING_FOR_ORDER_SQL =
+            "SELECT COUNT(*) FROM reminders WHERE order_id = ? AND delivered = FALSE";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void returningARentalCancelsItsPendingReminder() {
+        OrderDto order = rentWithDueReminder();
+
+        orderService.returnOrder(order.id());
+
+        assertEquals(0, jdbcTemplate.queryForObject(PENDING_FOR_ORDER_SQL, Integer.class, order.id()));
+        assertTrue(reminderService.claimDue(OffsetDateTime.now().plusMinutes(1), 10_000).stream()
+                .noneMatch(message -> message.orderId().equals(order.id())));
+    }
+
+    @Test
+    void remindersOfClosedOrdersAreNotClaimed() {
+        OrderDto order = rentWithDueReminder();
+        jdbcTemplate.update("UPDATE orders SET status = 'COMPLETED' WHERE id = ?", order.id());
+
+        assertTrue(reminderService.claimDue(OffsetDateTime.now().plusMinutes(1), 10_000).stream()
+                .noneMatch(message -> message.orderId().equals(order.id())));
+        assertEquals(1, jdbcTemplate.queryForObject(PENDING_FOR_ORDER_SQL, Integer.class, order.id()));
+    }
+
+    private OrderDto rentWithDueReminder() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        UUID reader = jdbcTemplate.queryForObject(INSERT_READER_SQL, UUID.class, run, run);
+        BookDetailsDto book = bookService.create(new BookRequest(
+                "Reminder " + run, "Author", "Tests", 2024, null, null,
+                new BigDecimal("500.00"), new BigDecimal("50.00"), new BigDecimal("90.00"), new BigDecimal("200.00"),
+                1));
+        OrderDto order = orderService.createOrder(reader, new CreateOrderRequest(book.id(), OrderType.RENT_TWO_WEEKS));
+        OffsetDateTime now = OffsetDateTime.now();
+        reminderService.scheduleExpiring(now, now.plusDays(30), Duration.ofDays(30));
+        assertEquals(1, jdbcTemplate.queryForObject(PENDING_FOR_ORDER_SQL, Integer.class, order.id()));
+        return order;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.synergy.libraryapp.reminder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReminderDispatcherTest {
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private ReminderDispatcher dispatcher;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void fileSinkReceivesEveryMessageOnce() throws Exception {
+        Path sink = tempDir.resolve("reminders/sent.ndjson");
+        dispatcher = new ReminderDispatcher(new FileReminderChannel(objectMapper, sink.toString(), 1),
+                Duration.ofSeconds(5), Duration.ofMinutes(1));
+        List<ReminderMessage> messages = messages(25);
+
+        List<ReminderOutcome> outcomes = dispatcher.dispatch(messages);
+
+        assertTrue(outcomes.stream().allMatch(ReminderOutcome::delivered));
+        List<String> lines = Files.readAllLines(sink, StandardCharsets.UTF_8);
+        assertEquals(messages.size(), lines.size());
+        Set<UUID> written = new HashSet<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            written.add(UUID.fromString(node.get("reminderId").asText()));
+        }
+        assertEquals(messages.stream().map(ReminderMessage::reminderId).collect(Collectors.toSet()), written);
+    }
+
+    @Test
+    void messagesThatNeverGetAPermitAreReturnedUnattempted() {
+        dispatcher = new ReminderDispatcher(new SlowChannel(Duration.ofMillis(400)),
+                Duration.ofSeconds(1), Duration.ofMillis(1500));
+
+        List<ReminderOutcome> outcomes = dispatcher.dispatch(messages(6));
+
+        assertTrue(outcomes.stream().noneMatch(ReminderOutcome::failed));
+        assertTrue(outcomes.stream().anyMatch(ReminderOutcome::delivered));
+        assertTrue(outcomes.stream().anyMatch(outcome -> !outcome.attempted()));
+    }
+
+    @Test
+    void sendTimeoutAppliesToEachSendOnly() {
+        dispatcher = new ReminderDispatcher(new SlowChannel(Duration.ofSeconds(5)),
+                Duration.ofMillis(200), Duration.ofMinutes(1));
+
+        List<ReminderOutcome> outcomes = dispatcher.dispatch(messages(3));
+
+        assertEquals(3, outcomes.stream().filter(ReminderOutcome::failed).count());
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome.error().startsWith("Delivery timed out")));
+        assertFalse(outcomes.stream().anyMatch(ReminderOutcome::delivered));
+    }
+
+    @Test
+    void timedOutSendKeepsItsPermitUntilTheChannelReturns() {
+        StubbornChannel channel = new StubbornChannel(Duration.ofSeconds(1));
+        dispatcher = new ReminderDispatcher(channel, Duration.ofMillis(100), Duration.ofMillis(400));
+
+        List<ReminderOutcome> outcomes = dispatcher.dispatch(messages(2));
+
+        assertEquals(1, outcomes.stream().filter(ReminderOutcome::failed).count());
+        assertEquals(1, outcomes.stream().filter(outcome -> !outcome.attempted()).count());
+        assertEquals(1, channel.maxInFlight().get());
+    }
+
+    private List<ReminderMessage> messages(int count) {
+        OffsetDateTime endDate = OffsetDateTime.now().plusDays(1);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ReminderMessage(UUID.randomUUID(), UUID.randomUUID(), "reader" + i + "@example.com",
+                        "Book " + i, endDate, 1))
+                .toList();
+    }
+
+    private record SlowChannel(Duration delay) implements ReminderChannel {
+        @Override
+        public String name() {
+            return "slow";
+        }
+
+        @Override
+        public int maxConcurrency() {
+            return 1;
+        }
+
+        @Override
+        public void send(ReminderMessage message) throws InterruptedException {
+            Thread.sleep(delay.toMillis());
+        }
+    }
+
+    private record StubbornChannel(Duration delay, AtomicInteger inFlight, AtomicInteger maxInFlight) implements ReminderChannel {
+        StubbornChannel(Duration delay) {
+            this(delay, new AtomicInteger(), new AtomicInteger());
+        }
+
+        @Override
+        public String name() {
+            return "stubborn";
+        }
+
+        @Override
+        public int maxConcurrency() {
+            return 1;
+        }
+
+        @Override
+        public void send(ReminderMessage message) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long deadline = System.nanoTime() + delay.toNanos();
+            boolean interrupted = false;
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(Math.max((deadline - System.nanoTime()) / 1_000_000, 1));
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            inFlight.decrementAndGet();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.synergy.libraryapp.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReminderTimingWheelTest {
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final Duration HORIZON = Duration.ofHours(2);
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void wheelCoversTheWholeHorizon() {
+        assertEquals(8192, ReminderTimingWheel.sizeFor(HORIZON, TICK));
+        assertEquals(2, ReminderTimingWheel.sizeFor(Duration.ofMillis(500), TICK));
+    }
+
+    @Test
+    void reminderAtTheHorizonFiresOnItsOwnTickOnly() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(TICK, ReminderTimingWheel.sizeFor(HORIZON, TICK), START);
+        Instant dueAt = START.plus(HORIZON);
+        assertTrue(wheel.schedule(UUID.randomUUID(), dueAt));
+        assertTrue(wheel.schedule(UUID.randomUUID(), START.plusSeconds(10)));
+
+        assertEquals(1, wheel.advance(START.plusSeconds(10)));
+        assertEquals(0, wheel.advance(dueAt.minus(TICK)));
+        assertEquals(1, wheel.advance(dueAt));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionAreRejected() {
+        int size = ReminderTimingWheel.sizeFor(HORIZON, TICK);
+        ReminderTimingWheel wheel = new ReminderTimingWheel(TICK, size, START);
+
+        assertFalse(wheel.schedule(UUID.randomUUID(), START.plus(TICK.multipliedBy(size))));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,130 @@
+package ru.synergy.libraryapp.scheduling;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.synergy.libraryapp.LibraryAppApplication;
+import ru.synergy.libraryapp.PostgresIntegrationTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerLeasesClusterTest extends PostgresIntegrationTest {
+    private static final int NODES = 3;
+    private static final List<ConfigurableApplicationContext> CONTEXTS = new ArrayList<>();
+    private static final List<SchedulerLeases> LEASES = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (int i = 0; i < NODES; i++) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryAppApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=" + jdbcUrl(),
+                            "--spring.datasource.username=" + username(),
+                            "--spring.datasource.password=" + password(),
+                            "--library.scheduling.node-id=node-" + i,
+                            "--library.scheduling.min-hold=0s");
+            CONTEXTS.add(context);
+            LEASES.add(context.getBean(SchedulerLeases.class));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        CONTEXTS.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void onlyOneNodeRunsAJobAtATime() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        int acquired = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(NODES)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (SchedulerLeases node : LEASES) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return node.runExclusively("test.exclusive", Duration.ofMinutes(1), () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(Duration.ofSeconds(2));
+                        running.decrementAndGet();
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get(1, TimeUnit.MINUTES)) {
+                    acquired++;
+                }
+            }
+        }
+
+        assertEquals(1, acquired);
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void extendedLeaseIsNotTakenOverMidRun() {
+        Duration lease = Duration.ofSeconds(1);
+        SchedulerLeases holder = LEASES.get(0);
+        AtomicInteger takeovers = new AtomicInteger();
+        AtomicBoolean held = new AtomicBoolean(true);
+
+        holder.runExclusively("test.long-job", lease, () -> {
+            for (int batch = 0; batch < 6; batch++) {
+                sleep(Duration.ofMillis(500));
+                for (SchedulerLeases other : LEASES.subList(1, NODES)) {
+                    if (other.runExclusively("test.long-job", lease, () -> { })) {
+                        takeovers.incrementAndGet();
+                    }
+                }
+                if (!holder.extend("test.long-job", lease)) {
+                    held.set(false);
+                }
+            }
+        });
+
+        assertEquals(0, takeovers.get());
+        assertTrue(held.get());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndHolderSeesItOnExtend() {
+        Duration lease = Duration.ofMillis(500);
+        AtomicBoolean takenOver = new AtomicBoolean();
+        AtomicBoolean stillHeld = new AtomicBoolean(true);
+
+        LEASES.get(0).runExclusively("test.expired", lease, () -> {
+            sleep(Duration.ofSeconds(1));
+            takenOver.set(LEASES.get(1).runExclusively("test.expired", Duration.ofMinutes(1), () -> { }));
+            stillHeld.set(LEASES.get(0).extend("test.expired", lease));
+        });
+
+        assertTrue(takenOver.get());
+        assertFalse(stillHeld.get());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
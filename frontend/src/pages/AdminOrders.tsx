@@ -14,6 +14,13 @@ type Order = {
     price: number
     startDate: string
     endDate: string | null
+    createdAt: string
+}
+
+type OrderPage = {
+    items: Order[]
+    nextCursor: string | null
+    hasNext: boolean
 }
 
 const STATUS_COLORS: Record<OrderStatus, string> = {
@@ -33,24 +40,42 @@ export default function AdminOrders() {
     const [orders, setOrders] = useState<Order[]>([])
     const [loading, setLoading] = useState(true)
     const [error, setError] = useState<string | null>(null)
+    const [nextCursor, setNextCursor] = useState<string | null>(null)
 
-    useEffect(() => {
-        const load = async () => {
-            setLoading(true)
-            setError(null)
-            try {
-                const data = await apiRequest<Order[]>('/api/admin/orders')
-                setOrders(data)
-            } catch (err) {
-                console.error(err)
-                setError('Не удалось загрузить активные аренды')
-            } finally {
-                setLoading(false)
+    const load = async (after: string | null) => {
+        setLoading(true)
+        setError(null)
+        try {
+            const params = new URLSearchParams({ size: '20' })
+            if (after) {
+                params.set('after', after)
             }
+            const data = await apiRequest<OrderPage>(`/api/admin/orders?${params.toString()}`)
+            setOrders(prev => after ? [...prev, ...data.items] : data.items)
+            setNextCursor(data.hasNext ? data.nextCursor : null)
+        } catch (err) {
+            console.error(err)
+            setError('Не удалось загрузить активные аренды')
+        } finally {
+            setLoading(false)
         }
-        void load()
+    }
+
+    useEffect(() => {
+        void load(null)
     }, [])
 
+    const handleReturn = async (orderId: string) => {
+        setError(null)
+        try {
+            const updated = await apiRequest<Order>(`/api/admin/orders/${orderId}/return`, { method: 'POST' })
+            setOrders(prev => prev.filter(order => order.id !== updated.id))
+        } catch (err) {
+            console.error(err)
+            setError('Не удалось оформить возврат')
+        }
+    }
+
     return (
         <div className="space-y-6">
             <div>
@@ -60,7 +85,7 @@ export default function AdminOrders() {
                 </p>
             </div>
             {error && <p className="rounded-lg border border-rose-200 bg-rose-50 px-3 py-2 text-sm text-rose-600">{error}</p>}
-            {loading ? (
+            {loading && orders.length === 0 ? (
                 <p className="text-sm text-slate-500">Загрузка...</p>
             ) : orders.length === 0 ? (
                 <p className="text-sm text-slate-500">Пока нет активных аренд.</p>
@@ -75,6 +100,7 @@ export default function AdminOrders() {
                                 <th className="px-4 py-3">Начало</th>
                                 <th className="px-4 py-3">Окончание</th>
                                 <th className="px-4 py-3 text-right">Сумма</th>
+                                <th className="px-4 py-3"></th>
                             </tr>
                         </thead>
                         <tbody className="divide-y divide-slate-100">
@@ -90,12 +116,29 @@ export default function AdminOrders() {
                                     <td className="px-4 py-3 text-slate-500">{new Date(order.startDate).toLocaleDateString()}</td>
                                     <td className="px-4 py-3 text-slate-500">{order.endDate ? new Date(order.endDate).toLocaleDateString() : '—'}</td>
                                     <td className="px-4 py-3 text-right font-medium text-slate-700">{order.price.toFixed(2)} ₽</td>
+                                    <td className="px-4 py-3 text-right">
+                                        <button
+                                            className="rounded-lg border border-slate-200 px-3 py-1 text-xs text-slate-600 transition hover:border-emerald-400 hover:text-emerald-700"
+                                            onClick={() => void handleReturn(order.id)}
+                                        >
+                                            Принять возврат
+                                        </button>
+                                    </td>
                                 </tr>
                             ))}
                         </tbody>
                     </table>
                 </div>
             )}
+            {nextCursor && (
+                <button
+                    className="rounded-lg border border-slate-200 px-4 py-2 text-sm text-slate-600 transition hover:border-emerald-400 hover:text-emerald-700 disabled:opacity-40"
+                    disabled={loading}
+                    onClick={() => void load(nextCursor)}
+                >
+                    Показать ещё
+                </button>
+            )}
         </div>
     )
 }
\ No newline at end of file
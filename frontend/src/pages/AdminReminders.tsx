@@ -8,6 +8,9 @@ type Reminder = {
     userEmail: string
     remindAt: string
     delivered: boolean
+    attempts: number
+    deadLetter: boolean
+    lastError: string | null
 }
 
 export default function AdminReminders() {
@@ -66,9 +69,14 @@ export default function AdminReminders() {
                                 </div>
                                 <div className="text-right">
                                     <p className="text-sm text-slate-600">Напомнить: {new Date(reminder.remindAt).toLocaleString()}</p>
-                                    <span className={`mt-1 inline-block rounded-full px-3 py-1 text-xs font-medium ${reminder.delivered ? 'bg-emerald-100 text-emerald-700' : 'bg-amber-100 text-amber-700'}`}>
-                                        {reminder.delivered ? 'Отправлено' : 'Запланировано'}
+                                    <span className={`mt-1 inline-block rounded-full px-3 py-1 text-xs font-medium ${reminder.delivered ? 'bg-emerald-100 text-emerald-700' : reminder.deadLetter ? 'bg-rose-100 text-rose-700' : 'bg-amber-100 text-amber-700'}`}>
+                                        {reminder.delivered ? 'Отправлено' : reminder.deadLetter ? 'Не доставлено' : 'Запланировано'}
                                     </span>
+                                    {reminder.attempts > 0 && !reminder.delivered && (
+                                        <p className="mt-1 text-xs text-slate-500" title={reminder.lastError ?? undefined}>
+                                            Попыток: {reminder.attempts}
+                                        </p>
+                                    )}
                                 </div>
                             </div>
                         </li>
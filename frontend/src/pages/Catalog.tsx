@@ -1,6 +1,6 @@
-import { useEffect, useMemo, useState } from 'react'
+import { useEffect, useMemo, useRef, useState } from 'react'
 import { useAuth } from '../app/AuthProvider'
-import { apiRequest, ApiError } from '../shared/api'
+import { apiRequest, ApiError, newIdempotencyKey } from '../shared/api'
 
 type BookStatus = 'AVAILABLE' | 'UNAVAILABLE' | 'ARCHIVED'
 
@@ -17,6 +17,11 @@ type BookListItem = {
     coverUrl: string | null
 }
 
+type BookAvailability = {
+    bookId: string
+    availableCopies: number
+}
+
 type BookPage = {
     items: BookListItem[]
     page: number
@@ -67,6 +72,8 @@ export default function Catalog() {
     const [error, setError] = useState<string | null>(null)
     const [selectedId, setSelectedId] = useState<string | null>(null)
     const [details, setDetails] = useState<Record<string, BookDetails>>({})
+    const [availability, setAvailability] = useState<Record<string, number>>({})
+    const orderKeys = useRef<Record<string, string>>({})
     const [actionMessage, setActionMessage] = useState<string | null>(null)
 
     useEffect(() => {
@@ -90,6 +97,7 @@ export default function Catalog() {
             setPage(data.page)
             setHasNext(data.hasNext)
             setBooks(prev => (append ? [...prev, ...data.items] : data.items))
+            void loadAvailability(data.items.map(item => item.id))
         } catch (err) {
             console.error(err)
             setError('Не удалось загрузить каталог')
@@ -98,6 +106,26 @@ export default function Catalog() {
         }
     }
 
+    const loadAvailability = async (bookIds: string[]) => {
+        if (bookIds.length === 0) {
+            return
+        }
+        try {
+            const params = new URLSearchParams()
+            bookIds.forEach(id => params.append('ids', id))
+            const data = await apiRequest<BookAvailability[]>(`/api/books/availability?${params.toString()}`)
+            setAvailability(prev => {
+                const next = { ...prev }
+                data.forEach(item => {
+                    next[item.bookId] = item.availableCopies
+                })
+                return next
+            })
+        } catch (err) {
+            console.error(err)
+        }
+    }
+
     const categories = useMemo(() => Array.from(new Set(books.map(book => book.category))).sort(), [books])
     const authors = useMemo(() => Array.from(new Set(books.map(book => book.author))).sort(), [books])
 
@@ -121,22 +149,31 @@ export default function Catalog() {
 
     const handleOrder = async (book: BookListItem | BookDetails, type: OrderType) => {
         setActionMessage(null)
+        const intent = `${book.id}:${type}`
+        const idempotencyKey = orderKeys.current[intent] ?? newIdempotencyKey()
+        orderKeys.current[intent] = idempotencyKey
         try {
             await apiRequest('/api/orders', {
                 method: 'POST',
                 body: JSON.stringify({ bookId: book.id, type }),
-                headers: { 'Content-Type': 'application/json' },
+                headers: { 'Content-Type': 'application/json', 'Idempotency-Key': idempotencyKey },
             })
+            delete orderKeys.current[intent]
             const message = type === 'PURCHASE'
                 ? `Книга «${book.title}» добавлена в ваши покупки`
                 : `Аренда книги «${book.title}» успешно оформлена`
             setActionMessage(message)
         } catch (err) {
+            if (err instanceof ApiError && err.status < 500) {
+                delete orderKeys.current[intent]
+            }
             if (err instanceof ApiError) {
                 setActionMessage(err.message)
             } else {
                 setActionMessage('Не удалось выполнить операцию')
             }
+        } finally {
+            void loadAvailability([book.id])
         }
     }
 
@@ -224,11 +261,14 @@ export default function Catalog() {
                                     <span className={`rounded-full px-2 py-1 ${book.status === 'AVAILABLE' ? 'bg-emerald-100 text-emerald-700' : 'bg-slate-200 text-slate-600'}`}>
                                         {book.status === 'AVAILABLE' ? 'Доступна' : book.status === 'UNAVAILABLE' ? 'Недоступна' : 'Архив'}
                                     </span>
+                                    <span className="rounded-full bg-slate-100 px-2 py-1 text-slate-600">
+                                        В наличии: {availability[book.id] ?? '—'}
+                                    </span>
                                 </div>
                                 <div className="flex flex-wrap gap-2">
                                     <button
                                         className="rounded-lg border border-emerald-600 px-3 py-1 text-sm text-emerald-700 transition hover:bg-emerald-600 hover:text-white disabled:opacity-40"
-                                        disabled={!user || book.status !== 'AVAILABLE'}
+                                        disabled={!user || book.status !== 'AVAILABLE' || availability[book.id] === 0}
                                         onClick={() => handleOrder(book, 'PURCHASE')}
                                     >
                                         Купить
@@ -14,6 +14,13 @@ type Order = {
     price: number
     startDate: string
     endDate: string | null
+    createdAt: string
+}
+
+type OrderPage = {
+    items: Order[]
+    nextCursor: string | null
+    hasNext: boolean
 }
 
 const TYPE_LABELS: Record<OrderType, string> = {
@@ -33,22 +40,29 @@ export default function Orders() {
     const [orders, setOrders] = useState<Order[]>([])
     const [loading, setLoading] = useState(true)
     const [error, setError] = useState<string | null>(null)
+    const [nextCursor, setNextCursor] = useState<string | null>(null)
 
-    useEffect(() => {
-        const load = async () => {
-            setLoading(true)
-            setError(null)
-            try {
-                const data = await apiRequest<Order[]>('/api/orders/my')
-                setOrders(data)
-            } catch (err) {
-                console.error(err)
-                setError('Не удалось получить ваши заказы')
-            } finally {
-                setLoading(false)
+    const load = async (after: string | null) => {
+        setLoading(true)
+        setError(null)
+        try {
+            const params = new URLSearchParams({ size: '20' })
+            if (after) {
+                params.set('after', after)
             }
+            const data = await apiRequest<OrderPage>(`/api/orders/my?${params.toString()}`)
+            setOrders(prev => after ? [...prev, ...data.items] : data.items)
+            setNextCursor(data.hasNext ? data.nextCursor : null)
+        } catch (err) {
+            console.error(err)
+            setError('Не удалось получить ваши заказы')
+        } finally {
+            setLoading(false)
         }
-        void load()
+    }
+
+    useEffect(() => {
+        void load(null)
     }, [])
 
     return (
@@ -60,7 +74,7 @@ export default function Orders() {
                 </p>
             </div>
             {error && <p className="rounded-lg border border-rose-200 bg-rose-50 px-3 py-2 text-sm text-rose-600">{error}</p>}
-            {loading ? (
+            {loading && orders.length === 0 ? (
                 <p className="text-sm text-slate-500">Загрузка...</p>
             ) : orders.length === 0 ? (
                 <p className="text-sm text-slate-500">Вы ещё не оформили ни одной покупки или аренды.</p>
@@ -88,6 +102,15 @@ export default function Orders() {
                     ))}
                 </div>
             )}
+            {nextCursor && (
+                <button
+                    className="rounded-lg border border-slate-200 px-4 py-2 text-sm text-slate-600 transition hover:border-emerald-400 hover:text-emerald-700 disabled:opacity-40"
+                    disabled={loading}
+                    onClick={() => void load(nextCursor)}
+                >
+                    Показать ещё
+                </button>
+            )}
         </div>
     )
 }
\ No newline at end of file